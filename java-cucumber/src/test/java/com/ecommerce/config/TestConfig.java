@@ -0,0 +1,75 @@
+package com.ecommerce.config;
+
+import org.aeonbits.owner.Config;
+
+/**
+ * Configuration interface for scenario execution settings.
+ * Uses Owner library for configuration management.
+ *
+ * Sources are merged with the first one winning: system properties, then the named execution
+ * profile selected with {@code -Dtest.profile} (ci-fast, debug, perf-measure). The profiles share
+ * their names and keys with the java-playwright module.
+ */
+@Config.LoadPolicy(Config.LoadType.MERGE)
+@Config.Sources({
+    "system:properties",
+    "classpath:profiles/${test.profile}.properties"
+})
+public interface TestConfig extends Config {
+
+    @Key("test.profile")
+    @DefaultValue("default")
+    String profile();
+
+    @Key("browser")
+    @DefaultValue("chrome")
+    String browser();
+
+    @Key("headless")
+    @DefaultValue("false")
+    boolean isHeadless();
+
+    @Key("launch.args")
+    @DefaultValue("")
+    String[] launchArgs();
+
+    @Key("viewport.width")
+    @DefaultValue("1920")
+    int viewportWidth();
+
+    @Key("viewport.height")
+    @DefaultValue("1080")
+    int viewportHeight();
+
+    @Key("timeout.default")
+    @DefaultValue("10000")
+    int defaultTimeout();
+
+    @Key("timeout.navigation")
+    @DefaultValue("30000")
+    int navigationTimeout();
+
+    @Key("screenshot.on.failure")
+    @DefaultValue("true")
+    boolean screenshotOnFailure();
+
+    @Key("api.url")
+    @DefaultValue("http://localhost:5001/api")
+    String apiUrl();
+
+    @Key("auth.login.path")
+    @DefaultValue("/auth/login")
+    String authLoginPath();
+
+    @Key("auth.token.key")
+    @DefaultValue("token")
+    String authTokenKey();
+
+    @Key("session.ttl.minutes")
+    @DefaultValue("30")
+    int sessionTtlMinutes();
+
+    @Key("dialog.policy")
+    @DefaultValue("accept")
+    String dialogPolicy();
+}
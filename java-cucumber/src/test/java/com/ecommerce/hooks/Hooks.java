@@ -28,9 +28,10 @@ public class Hooks {
 
         try {
             // Take screenshot and save if scenario failed
-            if (scenario.isFailed()) {
+            if (scenario.isFailed() && driverManager.isScreenshotOnFailure()) {
                 // Save screenshot to file for debugging
-                driverManager.saveScreenshot(scenario.getName());
+                // The line keeps names unique across outline examples and parallel scenarios
+                driverManager.saveScreenshot(scenario.getName() + "_line" + scenario.getLine());
 
                 // Attach screenshot to Cucumber report
                 byte[] screenshot = driverManager.takeScreenshot();
@@ -41,7 +42,7 @@ public class Hooks {
         } catch (Exception e) {
             logger.warn("Error during scenario teardown: {}", e.getMessage());
         } finally {
-            driverManager.quitDriver();
+            driverManager.releaseDriver(scenario.isFailed());
         }
     }
 }
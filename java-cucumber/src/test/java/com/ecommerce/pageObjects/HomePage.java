@@ -1,6 +1,6 @@
 package com.ecommerce.pageObjects;
 
-import org.openqa.selenium.By;
+import com.ecommerce.utils.FallbackLocator;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.support.FindBy;
@@ -15,24 +15,26 @@ public class HomePage {
 
     private final WebDriver driver;
     private final WebDriverWait wait;
+    private final FallbackLocator locator;
     private final String BASE_URL = "http://localhost:3000";
 
-    // Page Factory elements
-    @FindBy(xpath = "//a[contains(text(),'Login')] | //button[contains(text(),'Login')]")
-    private WebElement loginLink;
+    // Candidate locators, tried in one call; the one that matches is remembered per page
+    private static final String[] LOGIN_LINK = {"[data-testid='login-link']",
+            "xpath://a[contains(text(),'Login')]", "xpath://button[contains(text(),'Login')]"};
+    private static final String[] HERO_SECTION = {"[data-testid='hero-section']",
+            "main", ".main-content", "[data-testid='main-content']"};
 
+    // Page Factory elements
     @FindBy(xpath = "//a[contains(text(),'Register')] | //button[contains(text(),'Register')]")
     private WebElement registerLink;
 
-    @FindBy(css = "[data-testid='hero-section']")
-    private WebElement heroSection;
-
     @FindBy(tagName = "nav")
     private WebElement navigationBar;
 
     public HomePage(WebDriver driver, WebDriverWait wait) {
         this.driver = driver;
         this.wait = wait;
+        this.locator = new FallbackLocator(driver);
         PageFactory.initElements(driver, this);
     }
 
@@ -54,17 +56,11 @@ public class HomePage {
     public void clickLoginLink() {
         logger.info("Clicking login link");
         try {
+            WebElement loginLink = locator.find("home.login", LOGIN_LINK);
             wait.until(ExpectedConditions.elementToBeClickable(loginLink));
             loginLink.click();
         } catch (Exception e) {
-            logger.error("Error clicking login link: {}", e.getMessage());
-            // Fallback: try to find login link by different locators
-            try {
-                WebElement fallbackLogin = driver.findElement(By.xpath("//a[contains(text(),'Login')] | //button[contains(text(),'Login')] | //*[@data-testid='login-link']"));
-                fallbackLogin.click();
-            } catch (Exception fallbackException) {
-                throw new RuntimeException("Unable to click login link", e);
-            }
+            throw new RuntimeException("Unable to click login link", e);
         }
     }
 
@@ -93,17 +89,7 @@ public class HomePage {
     }
 
     public boolean isHeroSectionVisible() {
-        try {
-            return heroSection.isDisplayed();
-        } catch (Exception e) {
-            logger.warn("Hero section not visible: {}", e.getMessage());
-            // Fallback: check if any main content area is visible
-            try {
-                WebElement mainContent = driver.findElement(By.cssSelector("main, .main-content, [data-testid='main-content']"));
-                return mainContent.isDisplayed();
-            } catch (Exception fallbackException) {
-                return false;
-            }
-        }
+        // Falls back to any main content area when the hero is missing
+        return locator.isVisible("home.hero", HERO_SECTION);
     }
 }
@@ -0,0 +1,36 @@
+package com.ecommerce.stepDefinitions;
+
+import com.ecommerce.utils.ApiSessionCache;
+import com.ecommerce.utils.DriverManager;
+import io.cucumber.java.en.Given;
+import io.cucumber.java.en.Then;
+import org.junit.jupiter.api.Assertions;
+
+/**
+ * Steps that start a scenario already authenticated. The session comes from the backend API and
+ * is cached per user for the run, so only scenarios about the login form itself use the form.
+ */
+public class SessionSteps {
+
+    private final DriverManager driverManager;
+    private ApiSessionCache.Session session;
+
+    public SessionSteps(DriverManager driverManager) {
+        this.driverManager = driverManager;
+    }
+
+    @Given("I am logged in as {string} with password {string}")
+    public void i_am_logged_in_as(String email, String password) {
+        session = ApiSessionCache.get(email, password);
+        ApiSessionCache.injectInto(driverManager.getDriver(), driverManager.getBaseUrl(), session);
+    }
+
+    @Then("the browser should hold my API session")
+    public void the_browser_should_hold_my_api_session() {
+        Assertions.assertNotNull(session, "No API session was injected in this scenario");
+        Assertions.assertTrue(ApiSessionCache.isPresentIn(driverManager.getDriver(), session),
+                "The session cookie or token of " + session.getEmail() + " should be in the browser");
+        Assertions.assertFalse(driverManager.getDriver().getCurrentUrl().contains("/login"),
+                "The application should not send an authenticated user to the login page");
+    }
+}
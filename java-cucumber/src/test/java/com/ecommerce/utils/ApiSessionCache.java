@@ -0,0 +1,191 @@
+package com.ecommerce.utils;
+
+import com.ecommerce.config.TestConfig;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.aeonbits.owner.ConfigFactory;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.HttpCookie;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Logs users in through the backend API at {@code api.url} and puts the resulting session into
+ * a scenario's browser, so scenarios that do not test the login form itself skip it.
+ *
+ * Sessions are cached per user for the whole run and shared by parallel scenarios; a session is
+ * fetched again once its cookies expire or it is older than {@code session.ttl.minutes}.
+ */
+public final class ApiSessionCache {
+    private static final Logger logger = LoggerFactory.getLogger(ApiSessionCache.class);
+    private static final TestConfig config = ConfigFactory.create(TestConfig.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private static final Map<String, Session> SESSIONS = new ConcurrentHashMap<>();
+    private static final Map<String, ReentrantLock> LOCKS = new ConcurrentHashMap<>();
+
+    private ApiSessionCache() {
+    }
+
+    /**
+     * The cached session of the user, logging in through the API when there is no valid one
+     */
+    public static Session get(String email, String password) {
+        Session cached = SESSIONS.get(email);
+        if (cached != null && !cached.isExpired()) {
+            return cached;
+        }
+
+        // One login per user at a time, outside the map, so logins of other users run in parallel
+        ReentrantLock lock = LOCKS.computeIfAbsent(email, key -> new ReentrantLock());
+        lock.lock();
+        try {
+            // Another scenario may have logged the user in while this one waited
+            Session current = SESSIONS.get(email);
+            if (current != null && !current.isExpired()) {
+                return current;
+            }
+            Session session = login(email, password);
+            SESSIONS.put(email, session);
+            return session;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Put the session's cookies and token into the browser and reload the application with them
+     */
+    public static void injectInto(WebDriver driver, String baseUrl, Session session) {
+        long start = System.nanoTime();
+        // Cookies can only be added for the domain of the page that is open
+        if (!driver.getCurrentUrl().startsWith(baseUrl)) {
+            driver.get(baseUrl);
+        }
+        for (HttpCookie cookie : session.cookies) {
+            Cookie.Builder builder = new Cookie.Builder(cookie.getName(), cookie.getValue())
+                    .path(cookie.getPath() == null ? "/" : cookie.getPath())
+                    .isHttpOnly(cookie.isHttpOnly())
+                    .isSecure(cookie.getSecure());
+            if (cookie.getMaxAge() > 0) {
+                builder.expiresOn(Date.from(session.obtainedAt.plusSeconds(cookie.getMaxAge())));
+            }
+            driver.manage().addCookie(builder.build());
+        }
+        if (session.token != null && !config.authTokenKey().isEmpty()) {
+            ((JavascriptExecutor) driver).executeScript(
+                    "localStorage.setItem(arguments[0], arguments[1]);", config.authTokenKey(), session.token);
+        }
+        driver.navigate().refresh();
+        logger.info("Injected API session for {} in {}ms", session.email, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Whether the browser still holds the session: one of its cookies, or its token in local storage
+     */
+    public static boolean isPresentIn(WebDriver driver, Session session) {
+        for (HttpCookie cookie : session.cookies) {
+            Cookie browserCookie = driver.manage().getCookieNamed(cookie.getName());
+            if (browserCookie != null && browserCookie.getValue().equals(cookie.getValue())) {
+                return true;
+            }
+        }
+        if (session.token != null && !config.authTokenKey().isEmpty()) {
+            Object stored = ((JavascriptExecutor) driver).executeScript(
+                    "return localStorage.getItem(arguments[0]);", config.authTokenKey());
+            return session.token.equals(stored);
+        }
+        return false;
+    }
+
+    private static Session login(String email, String password) {
+        long start = System.nanoTime();
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(config.apiUrl() + config.authLoginPath()))
+                    .timeout(Duration.ofSeconds(30))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            MAPPER.writeValueAsString(Map.of("email", email, "password", password))))
+                    .build();
+            HttpResponse<String> response = CLIENT.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() / 100 != 2) {
+                throw new IllegalStateException("API login for " + email + " failed with status " + response.statusCode());
+            }
+
+            List<HttpCookie> cookies = new ArrayList<>();
+            for (String header : response.headers().allValues("set-cookie")) {
+                cookies.addAll(HttpCookie.parse(header));
+            }
+            String token = null;
+            if (!response.body().isBlank()) {
+                JsonNode body = MAPPER.readTree(response.body());
+                token = body.path("token").asText(body.path("accessToken").asText(null));
+            }
+            if (cookies.isEmpty() && token == null) {
+                throw new IllegalStateException("API login for " + email + " returned neither a cookie nor a token");
+            }
+            logger.info("Logged in {} through the API in {}ms ({} cookies, token {})", email,
+                    (System.nanoTime() - start) / 1_000_000, cookies.size(), token == null ? "absent" : "present");
+            return new Session(email, cookies, token);
+        } catch (IOException e) {
+            throw new UncheckedIOException("API login for " + email + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted during API login for " + email, e);
+        }
+    }
+
+    /**
+     * Cookies and bearer token of one logged-in user
+     */
+    public static final class Session {
+        private final String email;
+        private final List<HttpCookie> cookies;
+        private final String token;
+        private final Instant obtainedAt = Instant.now();
+
+        private Session(String email, List<HttpCookie> cookies, String token) {
+            this.email = email;
+            this.cookies = Collections.unmodifiableList(cookies);
+            this.token = token;
+        }
+
+        public String getEmail() {
+            return email;
+        }
+
+        boolean isExpired() {
+            Instant now = Instant.now();
+            if (obtainedAt.plus(Duration.ofMinutes(config.sessionTtlMinutes())).isBefore(now)) {
+                return true;
+            }
+            for (HttpCookie cookie : cookies) {
+                // Refresh a minute early so the session does not expire mid-scenario
+                if (cookie.getMaxAge() > 0 && obtainedAt.plusSeconds(cookie.getMaxAge() - 60).isBefore(now)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
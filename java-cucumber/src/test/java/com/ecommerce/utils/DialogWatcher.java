@@ -0,0 +1,206 @@
+package com.ecommerce.utils;
+
+import org.openqa.selenium.Alert;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.devtools.v138.page.Page;
+import org.openqa.selenium.devtools.v138.page.model.JavascriptDialogOpening;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Handles JavaScript dialogs (alert, confirm, prompt, beforeunload) of one scenario's driver.
+ *
+ * On Chrome and Edge it subscribes to the DevTools {@code Page.javascriptDialogOpening} event and
+ * accepts, dismisses or just records each dialog on a background thread as soon as it opens, so
+ * steps never wait for a dialog that did not appear. Drivers without DevTools (Firefox) fall back
+ * to a single no-wait alert check each time a step asks for pending dialogs.
+ */
+public class DialogWatcher {
+    private static final Logger logger = LoggerFactory.getLogger(DialogWatcher.class);
+
+    /**
+     * What to do with a dialog once it is recorded
+     */
+    public enum Policy {
+        ACCEPT, DISMISS, RECORD;
+
+        public static Policy fromKey(String key) {
+            return valueOf(key.trim().toUpperCase());
+        }
+    }
+
+    private final WebDriver driver;
+    private final Policy policy;
+    private final DevTools devTools;
+    private final ExecutorService handler;
+    private final List<Dialog> dialogs = new ArrayList<>();
+    private int opened;
+    private int handled;
+
+    private DialogWatcher(WebDriver driver, Policy policy, DevTools devTools) {
+        this.driver = driver;
+        this.policy = policy;
+        this.devTools = devTools;
+        this.handler = devTools == null ? null : Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "dialog-watcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Start watching the driver's dialogs, over DevTools when the driver supports it
+     */
+    public static DialogWatcher attach(WebDriver driver, Policy policy) {
+        if (driver instanceof HasDevTools) {
+            try {
+                DevTools devTools = ((HasDevTools) driver).getDevTools();
+                devTools.createSessionIfThereIsNotOne();
+                devTools.send(Page.enable(Optional.empty()));
+                DialogWatcher watcher = new DialogWatcher(driver, policy, devTools);
+                devTools.addListener(Page.javascriptDialogOpening(), watcher::onDialogOpening);
+                return watcher;
+            } catch (Exception e) {
+                logger.warn("DevTools dialog events unavailable, polling for dialogs instead: {}", e.getMessage());
+            }
+        }
+        return new DialogWatcher(driver, policy, null);
+    }
+
+    // Runs on the DevTools connection thread; the reply is sent from the handler thread
+    private void onDialogOpening(JavascriptDialogOpening event) {
+        synchronized (this) {
+            opened++;
+        }
+        Dialog dialog = new Dialog(event.getType().toString(), event.getMessage(), event.getUrl());
+        handler.execute(() -> {
+            try {
+                if (policy != Policy.RECORD) {
+                    devTools.send(Page.handleJavaScriptDialog(policy == Policy.ACCEPT, Optional.empty()));
+                }
+            } catch (Exception e) {
+                logger.warn("Could not handle {} dialog '{}': {}", dialog.getType(), dialog.getMessage(), e.getMessage());
+            } finally {
+                record(dialog);
+            }
+        });
+    }
+
+    /**
+     * Dialogs seen so far, waiting only while a dialog that already opened is still being handled
+     *
+     * @param timeout longest wait for handling in progress
+     */
+    public List<Dialog> awaitHandled(Duration timeout) {
+        if (devTools == null) {
+            pollOnce();
+        } else {
+            long deadline = System.nanoTime() + timeout.toNanos();
+            synchronized (this) {
+                while (handled < opened) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        logger.warn("{} dialog(s) still being handled after {}ms", opened - handled, timeout.toMillis());
+                        break;
+                    }
+                    try {
+                        TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+            }
+        }
+        return getDialogs();
+    }
+
+    public synchronized List<Dialog> getDialogs() {
+        return new ArrayList<>(dialogs);
+    }
+
+    /**
+     * Stop watching; called before the driver goes back to the pool
+     */
+    public void detach() {
+        if (devTools != null) {
+            try {
+                devTools.clearListeners();
+            } catch (Exception e) {
+                logger.debug("Error removing dialog listener: {}", e.getMessage());
+            }
+            handler.shutdownNow();
+        }
+    }
+
+    // Fallback without DevTools: one alert check with no wait
+    private void pollOnce() {
+        Alert alert;
+        try {
+            alert = driver.switchTo().alert();
+        } catch (NoAlertPresentException e) {
+            return;
+        }
+        Dialog dialog = new Dialog("alert", alert.getText(), driver.getCurrentUrl());
+        if (policy == Policy.ACCEPT) {
+            alert.accept();
+        } else if (policy == Policy.DISMISS) {
+            alert.dismiss();
+        }
+        synchronized (this) {
+            opened++;
+        }
+        record(dialog);
+    }
+
+    private synchronized void record(Dialog dialog) {
+        dialogs.add(dialog);
+        handled++;
+        logger.info("{} dialog '{}' on {}: {}", dialog.getType(), dialog.getMessage(), dialog.getUrl(),
+                policy == Policy.RECORD ? "left open" : policy.toString().toLowerCase() + "ed");
+        notifyAll();
+    }
+
+    /**
+     * A dialog that opened during the scenario
+     */
+    public static final class Dialog {
+        private final String type;
+        private final String message;
+        private final String url;
+
+        private Dialog(String type, String message, String url) {
+            this.type = type;
+            this.message = message;
+            this.url = url;
+        }
+
+        public String getType() {
+            return type;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        @Override
+        public String toString() {
+            return type + " '" + message + "'";
+        }
+    }
+}
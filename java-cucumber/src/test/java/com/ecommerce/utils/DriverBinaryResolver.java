@@ -0,0 +1,225 @@
+package com.ecommerce.utils;
+
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves WebDriver binaries once per JVM and shares the result across Gradle forks.
+ *
+ * Versions can be pinned in the classpath manifest {@code webdriver-versions.properties}.
+ * The first fork that needs a driver resolves it through WebDriverManager and records the binary
+ * path in a resolved manifest under {@code build/webdriver}; other forks and later runs read the
+ * path from there under a file lock and never touch the network. An entry resolved without a pinned
+ * version follows the installed browser, so it is resolved again once it is older than
+ * {@code webdriver.manifest.ttl.hours} (default 24). With {@code -Dwebdriver.offline=true} only the
+ * resolved manifest and the local WebDriverManager cache are used: a pinned version is resolved from
+ * the cache, an unpinned entry is reused even when it is older than the TTL.
+ */
+public final class DriverBinaryResolver {
+    private static final Logger logger = LoggerFactory.getLogger(DriverBinaryResolver.class);
+
+    private static final String PINNED_MANIFEST = "webdriver-versions.properties";
+    private static final Path RESOLVED_MANIFEST = Paths.get(
+            System.getProperty("webdriver.manifest", "build/webdriver/resolved-drivers.properties"));
+    private static final boolean OFFLINE = Boolean.parseBoolean(System.getProperty("webdriver.offline", "false"));
+    private static final Duration UNPINNED_TTL = Duration.ofHours(
+            Long.parseLong(System.getProperty("webdriver.manifest.ttl.hours", "24")));
+
+    private static final Properties PINNED = loadPinnedVersions();
+    private static final Map<String, ResolvedDriver> RESOLVED = new ConcurrentHashMap<>();
+
+    private DriverBinaryResolver() {
+    }
+
+    /**
+     * Resolve the driver binary for a browser (chrome, firefox or edge) and export its system property
+     */
+    public static ResolvedDriver resolve(String browser) {
+        String key = browser.toLowerCase();
+        ResolvedDriver cached = RESOLVED.get(key);
+        if (cached != null) {
+            return cached.fromMemory();
+        }
+        return RESOLVED.computeIfAbsent(key, DriverBinaryResolver::resolveOnce);
+    }
+
+    private static synchronized ResolvedDriver resolveOnce(String browser) {
+        long start = System.nanoTime();
+        String pinnedVersion = PINNED.getProperty(browser + ".driver.version", "").trim();
+
+        try {
+            Files.createDirectories(RESOLVED_MANIFEST.toAbsolutePath().getParent());
+            Path lockFile = RESOLVED_MANIFEST.resolveSibling(RESOLVED_MANIFEST.getFileName() + ".lock");
+            try (FileChannel channel = FileChannel.open(lockFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock ignored = channel.lock()) {
+
+                Properties manifest = readResolvedManifest();
+                String path = manifest.getProperty(browser + ".path");
+                String version = manifest.getProperty(browser + ".version", "");
+                String source = "manifest";
+
+                boolean usable = path != null && Files.isExecutable(Paths.get(path)) &&
+                        (pinnedVersion.isEmpty() || pinnedVersion.equals(version));
+                if (usable && pinnedVersion.isEmpty() && isExpired(manifest.getProperty(browser + ".resolved.at"))) {
+                    if (OFFLINE) {
+                        logger.warn("Recorded {} driver {} is older than {}h but webdriver.offline is set; reusing it",
+                                browser, version, UNPINNED_TTL.toHours());
+                    } else {
+                        // The browser may have been updated since; match the driver to it again
+                        usable = false;
+                    }
+                }
+                if (!usable) {
+                    WebDriverManager manager = managerFor(browser);
+                    if (!pinnedVersion.isEmpty()) {
+                        manager.driverVersion(pinnedVersion);
+                    }
+                    if (OFFLINE) {
+                        if (pinnedVersion.isEmpty()) {
+                            throw new IllegalStateException("webdriver.offline is set but no " + browser +
+                                    " driver is recorded in " + RESOLVED_MANIFEST + " and no version is pinned in " + PINNED_MANIFEST);
+                        }
+                        // With a pinned version WebDriverManager serves the binary from its local cache
+                        manager.avoidBrowserDetection().avoidReadReleaseFromRepository();
+                    }
+                    manager.avoidOutputTree().setup();
+                    path = manager.getDownloadedDriverPath();
+                    version = manager.getDownloadedDriverVersion();
+                    source = OFFLINE ? "local cache" : "WebDriverManager";
+
+                    manifest.setProperty(browser + ".path", path);
+                    manifest.setProperty(browser + ".version", version == null ? "" : version);
+                    manifest.setProperty(browser + ".resolved.at", String.valueOf(System.currentTimeMillis()));
+                    writeResolvedManifest(manifest);
+                }
+
+                System.setProperty(driverSystemProperty(browser), path);
+                ResolvedDriver resolved = new ResolvedDriver(browser, path, version, source, System.nanoTime() - start);
+                logger.info("Resolved {} driver {} from {} in {}ms: {}", browser, version, source, resolved.getResolutionMillis(), path);
+                return resolved;
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to resolve " + browser + " driver binary", e);
+        }
+    }
+
+    // Entries written before the timestamp was recorded count as expired
+    private static boolean isExpired(String resolvedAt) {
+        try {
+            return Instant.ofEpochMilli(Long.parseLong(resolvedAt)).plus(UNPINNED_TTL).isBefore(Instant.now());
+        } catch (NumberFormatException e) {
+            return true;
+        }
+    }
+
+    private static WebDriverManager managerFor(String browser) {
+        switch (browser) {
+            case "firefox":
+                return WebDriverManager.firefoxdriver();
+            case "edge":
+                return WebDriverManager.edgedriver();
+            default:
+                return WebDriverManager.chromedriver();
+        }
+    }
+
+    private static String driverSystemProperty(String browser) {
+        switch (browser) {
+            case "firefox":
+                return "webdriver.gecko.driver";
+            case "edge":
+                return "webdriver.edge.driver";
+            default:
+                return "webdriver.chrome.driver";
+        }
+    }
+
+    private static Properties loadPinnedVersions() {
+        Properties properties = new Properties();
+        try (InputStream in = DriverBinaryResolver.class.getClassLoader().getResourceAsStream(PINNED_MANIFEST)) {
+            if (in != null) {
+                properties.load(in);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not read {}: {}", PINNED_MANIFEST, e.getMessage());
+        }
+        return properties;
+    }
+
+    private static Properties readResolvedManifest() throws IOException {
+        Properties properties = new Properties();
+        if (Files.exists(RESOLVED_MANIFEST)) {
+            try (Reader reader = Files.newBufferedReader(RESOLVED_MANIFEST, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+        }
+        return properties;
+    }
+
+    private static void writeResolvedManifest(Properties manifest) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(RESOLVED_MANIFEST, StandardCharsets.UTF_8)) {
+            manifest.store(writer, "Resolved WebDriver binaries, shared by all test forks");
+        }
+    }
+
+    /**
+     * A resolved driver binary and how long it took to resolve
+     */
+    public static final class ResolvedDriver {
+        private final String browser;
+        private final String path;
+        private final String version;
+        private final String source;
+        private final long resolutionNanos;
+
+        private ResolvedDriver(String browser, String path, String version, String source, long resolutionNanos) {
+            this.browser = browser;
+            this.path = path;
+            this.version = version;
+            this.source = source;
+            this.resolutionNanos = resolutionNanos;
+        }
+
+        private ResolvedDriver fromMemory() {
+            return new ResolvedDriver(browser, path, version, "memory", 0);
+        }
+
+        public String getBrowser() {
+            return browser;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public String getVersion() {
+            return version;
+        }
+
+        public String getSource() {
+            return source;
+        }
+
+        public long getResolutionMillis() {
+            return resolutionNanos / 1_000_000;
+        }
+    }
+}
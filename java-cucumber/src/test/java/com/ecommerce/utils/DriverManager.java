@@ -1,7 +1,11 @@
 package com.ecommerce.utils;
 
+import com.ecommerce.config.TestConfig;
+import org.aeonbits.owner.ConfigFactory;
+import org.openqa.selenium.Dimension;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.UnexpectedAlertBehaviour;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
 import org.openqa.selenium.chrome.ChromeOptions;
@@ -18,70 +22,139 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Paths;
-
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Owns the WebDriver of a single scenario. Picocontainer creates one instance per scenario,
+ * so concurrent scenarios never share a driver; shared state lives only in the thread-safe
+ * {@link WebDriverSessionPool} and {@link DriverBinaryResolver}.
+ */
 public class DriverManager {
     private static final Logger logger = LoggerFactory.getLogger(DriverManager.class);
 
     private WebDriver driver;
     private WebDriverWait wait;
-
-    private static final String BASE_URL = "http://localhost:3000";
-    private static final String BROWSER_TYPE = System.getProperty("browser", "chrome");
-    private static final boolean HEADLESS = Boolean.parseBoolean(System.getProperty("headless", "false"));
-    private static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
+    private WebDriverSessionPool.PooledSession pooledSession;
+    private DialogWatcher dialogWatcher;
+
+    // Resolved from system properties and the -Dtest.profile execution profile
+    private static final TestConfig config = ConfigFactory.create(TestConfig.class);
+
+    static final String BASE_URL = "http://localhost:3000";
+    private static final String BROWSER_TYPE = config.browser();
+    private static final boolean HEADLESS = config.isHeadless();
+    private static final boolean POOLED = Boolean.parseBoolean(System.getProperty("driver.pool", "true"));
+    private static final Duration DEFAULT_TIMEOUT = Duration.ofMillis(config.defaultTimeout());
+    private static final Duration PAGE_LOAD_TIMEOUT = Duration.ofMillis(config.navigationTimeout());
+    private static final DialogWatcher.Policy DIALOG_POLICY = DialogWatcher.Policy.fromKey(config.dialogPolicy());
+    private static final Dimension WINDOW_SIZE = new Dimension(config.viewportWidth(), config.viewportHeight());
+    private static final List<String> LAUNCH_ARGS = Arrays.stream(config.launchArgs())
+            .map(String::trim)
+            .filter(arg -> !arg.isEmpty())
+            .collect(Collectors.toList());
 
     public void initializeDriver() {
-        logger.info("Initializing Selenium WebDriver with browser: {}, headless: {}", BROWSER_TYPE, HEADLESS);
+        if (POOLED) {
+            pooledSession = WebDriverSessionPool.getInstance().acquire(this::createDriver);
+            driver = pooledSession.getDriver();
+        } else {
+            driver = createDriver();
+        }
+
+        wait = new WebDriverWait(driver, DEFAULT_TIMEOUT);
+        dialogWatcher = DialogWatcher.attach(driver, DIALOG_POLICY);
+    }
 
+    private WebDriver createDriver() {
+        logger.info("Initializing Selenium WebDriver with browser: {}, headless: {}, profile: {}", BROWSER_TYPE, HEADLESS, config.profile());
+
+        DriverBinaryResolver.ResolvedDriver binary = DriverBinaryResolver.resolve(
+                BROWSER_TYPE.equalsIgnoreCase("firefox") || BROWSER_TYPE.equalsIgnoreCase("edge") ? BROWSER_TYPE : "chrome");
+        long launchStart = System.nanoTime();
+        WebDriver newDriver;
+
+        // Unexpected alerts are left open rather than auto-dismissed, so the step expecting one can still read it
         switch (BROWSER_TYPE.toLowerCase()) {
             case "firefox":
-                io.github.bonigarcia.wdm.WebDriverManager.firefoxdriver().setup();
                 FirefoxOptions firefoxOptions = new FirefoxOptions();
+                firefoxOptions.setUnhandledPromptBehaviour(UnexpectedAlertBehaviour.IGNORE);
                 if (HEADLESS) {
                     firefoxOptions.addArguments("--headless");
                 }
-                firefoxOptions.addArguments("--window-size=1920,1080");
-                driver = new FirefoxDriver(firefoxOptions);
+                firefoxOptions.addArguments(LAUNCH_ARGS);
+                newDriver = new FirefoxDriver(firefoxOptions);
                 break;
             case "edge":
-                io.github.bonigarcia.wdm.WebDriverManager.edgedriver().setup();
                 EdgeOptions edgeOptions = new EdgeOptions();
+                edgeOptions.setUnhandledPromptBehaviour(UnexpectedAlertBehaviour.IGNORE);
                 if (HEADLESS) {
                     edgeOptions.addArguments("--headless");
                 }
-                edgeOptions.addArguments("--window-size=1920,1080");
+                edgeOptions.addArguments("--window-size=" + WINDOW_SIZE.getWidth() + "," + WINDOW_SIZE.getHeight());
                 edgeOptions.addArguments("--disable-web-security");
                 edgeOptions.addArguments("--allow-running-insecure-content");
-                driver = new EdgeDriver(edgeOptions);
+                edgeOptions.addArguments(LAUNCH_ARGS);
+                newDriver = new EdgeDriver(edgeOptions);
                 break;
             default:
-                io.github.bonigarcia.wdm.WebDriverManager.chromedriver().setup();
                 ChromeOptions chromeOptions = new ChromeOptions();
+                chromeOptions.setUnhandledPromptBehaviour(UnexpectedAlertBehaviour.IGNORE);
                 if (HEADLESS) {
                     chromeOptions.addArguments("--headless");
                 }
-                chromeOptions.addArguments("--window-size=1920,1080");
+                chromeOptions.addArguments("--window-size=" + WINDOW_SIZE.getWidth() + "," + WINDOW_SIZE.getHeight());
                 chromeOptions.addArguments("--disable-web-security");
                 chromeOptions.addArguments("--allow-running-insecure-content");
                 chromeOptions.addArguments("--disable-features=VizDisplayCompositor");
-                driver = new ChromeDriver(chromeOptions);
+                chromeOptions.addArguments(LAUNCH_ARGS);
+                newDriver = new ChromeDriver(chromeOptions);
                 break;
         }
 
-        driver.manage().window().maximize();
-        driver.manage().timeouts().implicitlyWait(DEFAULT_TIMEOUT);
-        driver.manage().timeouts().pageLoadTimeout(Duration.ofSeconds(30));
+        // Use the profile's window size rather than maximizing, so runs are comparable across machines
+        newDriver.manage().window().setSize(WINDOW_SIZE);
+        newDriver.manage().timeouts().implicitlyWait(DEFAULT_TIMEOUT);
+        newDriver.manage().timeouts().pageLoadTimeout(PAGE_LOAD_TIMEOUT);
 
-        wait = new WebDriverWait(driver, DEFAULT_TIMEOUT);
+        long launchMillis = (System.nanoTime() - launchStart) / 1_000_000;
+        logger.info("Selenium WebDriver initialized successfully - startup breakdown: driver resolution {}ms ({}), browser launch {}ms, total {}ms",
+                binary.getResolutionMillis(), binary.getSource(), launchMillis, binary.getResolutionMillis() + launchMillis);
+        return newDriver;
+    }
+
+    /**
+     * Hand the driver back after a scenario. Pooled sessions are recycled for the next
+     * scenario, or retired if the scenario failed; unpooled drivers are quit.
+     */
+    public void releaseDriver(boolean scenarioFailed) {
+        detachDialogWatcher();
+        if (pooledSession == null) {
+            quitDriver();
+            return;
+        }
 
-        logger.info("Selenium WebDriver initialized successfully");
+        try {
+            WebDriverSessionPool.getInstance().release(pooledSession, scenarioFailed);
+        } catch (Exception e) {
+            logger.warn("Error releasing pooled driver: {}", e.getMessage());
+        } finally {
+            pooledSession = null;
+            driver = null;
+        }
     }
 
     public void quitDriver() {
         logger.info("Closing Selenium WebDriver");
+        detachDialogWatcher();
 
         try {
-            if (driver != null) {
+            if (pooledSession != null) {
+                WebDriverSessionPool.getInstance().retire(pooledSession);
+                pooledSession = null;
+            } else if (driver != null) {
                 driver.quit();
             }
         } catch (Exception e) {
@@ -104,12 +177,14 @@ public class DriverManager {
         try {
             if (driver != null) {
                 File screenshot = ((TakesScreenshot) driver).getScreenshotAs(OutputType.FILE);
-                String screenshotPath = "test-results/screenshots/" + testName + "_screenshot.png";
+                // Scenario names can repeat (outlines) and contain path characters
+                String fileName = testName.replaceAll("[^A-Za-z0-9._-]+", "_");
+                String screenshotPath = "test-results/screenshots/" + fileName + "_screenshot.png";
 
                 // Create directory if it doesn't exist
                 Files.createDirectories(Paths.get("test-results/screenshots"));
 
-                Files.copy(screenshot.toPath(), Paths.get(screenshotPath));
+                Files.copy(screenshot.toPath(), Paths.get(screenshotPath), StandardCopyOption.REPLACE_EXISTING);
                 logger.info("Screenshot saved to: {}", screenshotPath);
             }
         } catch (IOException e) {
@@ -117,10 +192,28 @@ public class DriverManager {
         }
     }
 
+    private void detachDialogWatcher() {
+        if (dialogWatcher != null) {
+            dialogWatcher.detach();
+            dialogWatcher = null;
+        }
+    }
+
+    public boolean isScreenshotOnFailure() {
+        return config.screenshotOnFailure();
+    }
+
     public WebDriver getDriver() {
         return driver;
     }
 
+    /**
+     * Dialogs of this scenario, handled according to {@code dialog.policy}
+     */
+    public DialogWatcher getDialogWatcher() {
+        return dialogWatcher;
+    }
+
     public WebDriverWait getWait() {
         return wait;
     }
@@ -0,0 +1,147 @@
+package com.ecommerce.utils;
+
+import com.ecommerce.config.TestConfig;
+import org.aeonbits.owner.ConfigFactory;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves an element from a list of alternative locators in one {@code executeScript} call,
+ * so a missing alternative costs nothing instead of a full implicit wait. Candidates are CSS
+ * selectors, or XPath when prefixed with {@code xpath:}.
+ *
+ * The candidate that matched is remembered per element key and URL pattern (numeric path
+ * segments collapsed), and is tried first on later lookups. The memo is shared by all scenarios.
+ */
+public class FallbackLocator {
+    private static final Logger logger = LoggerFactory.getLogger(FallbackLocator.class);
+    private static final TestConfig config = ConfigFactory.create(TestConfig.class);
+
+    // element key -> URL pattern -> index of the candidate that matched there
+    private static final Map<String, Map<String, Integer>> LEARNED = new ConcurrentHashMap<>();
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(100);
+
+    // In-page helpers: all nodes matching a CSS or "xpath:" candidate, and whether a node is shown
+    static final String QUERY_FUNCTIONS =
+            "const query = c => {" +
+            "  try {" +
+            "    if (!c.startsWith('xpath:')) return Array.from(document.querySelectorAll(c));" +
+            "    const r = document.evaluate(c.substring(6), document, null, XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null);" +
+            "    const nodes = [];" +
+            "    for (let i = 0; i < r.snapshotLength; i++) nodes.push(r.snapshotItem(i));" +
+            "    return nodes;" +
+            "  } catch (e) { return []; }" +
+            "};" +
+            "const visible = el => el.getClientRects().length > 0 && getComputedStyle(el).visibility !== 'hidden';";
+
+    // Returns [candidate index, element, URL pattern, visible]; prefers the first visible match,
+    // else the first attached one so visibility checks can report false without another call
+    private static final String RESOLVE_SCRIPT =
+            "const candidates = arguments[0], learned = arguments[1];" +
+            "const pattern = location.host + location.pathname.replace(/\\/\\d+(?=\\/|$)/g, '/{id}');" +
+            "const indexes = candidates.map((c, i) => i);" +
+            "const order = learned[pattern] === undefined ? indexes" +
+            "    : [learned[pattern]].concat(indexes.filter(i => i !== learned[pattern]));" +
+            QUERY_FUNCTIONS +
+            "let attached = null;" +
+            "for (const i of order) {" +
+            "  const nodes = query(candidates[i]);" +
+            "  const shown = nodes.find(visible);" +
+            "  if (shown) return [i, shown, pattern, true];" +
+            "  if (!attached && nodes.length) attached = [i, nodes[0], pattern, false];" +
+            "}" +
+            "return attached || [-1, null, pattern, false];";
+
+    private final WebDriver driver;
+    private final Duration timeout;
+
+    public FallbackLocator(WebDriver driver) {
+        this(driver, Duration.ofMillis(config.defaultTimeout()));
+    }
+
+    public FallbackLocator(WebDriver driver, Duration timeout) {
+        this.driver = driver;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Wait for a visible element matching any candidate
+     *
+     * @param key name of the element on its page, e.g. "login.username"
+     * @throws TimeoutException if no candidate matches a visible element within the timeout
+     */
+    public WebElement find(String key, String... candidates) {
+        try {
+            return new WebDriverWait(driver, timeout, POLL_INTERVAL)
+                    .until(d -> resolve(key, candidates).filter(Match::isVisible).map(Match::getElement).orElse(null));
+        } catch (TimeoutException e) {
+            throw new TimeoutException("No visible element for '" + key + "' matching any of "
+                    + Arrays.toString(candidates), e);
+        }
+    }
+
+    /**
+     * Whether a candidate matches a visible element right now, without waiting
+     */
+    public boolean isVisible(String key, String... candidates) {
+        return resolve(key, candidates).map(Match::isVisible).orElse(false);
+    }
+
+    /**
+     * The first match right now, visible or not, without waiting
+     */
+    public Optional<WebElement> findNow(String key, String... candidates) {
+        return resolve(key, candidates).map(Match::getElement);
+    }
+
+    private Optional<Match> resolve(String key, String[] candidates) {
+        Map<String, Integer> learned = LEARNED.computeIfAbsent(key, k -> new ConcurrentHashMap<>());
+        List<?> result = (List<?>) ((JavascriptExecutor) driver)
+                .executeScript(RESOLVE_SCRIPT, Arrays.asList(candidates), learned);
+
+        int index = ((Number) result.get(0)).intValue();
+        if (index < 0) {
+            return Optional.empty();
+        }
+        boolean visible = Boolean.TRUE.equals(result.get(3));
+        String pattern = (String) result.get(2);
+        if (visible) {
+            Integer previous = learned.put(pattern, index);
+            if (previous == null || previous != index) {
+                logger.debug("Learned locator for '{}' on {}: {}", key, pattern, candidates[index]);
+            }
+        }
+        return Optional.of(new Match((WebElement) result.get(1), visible));
+    }
+
+    private static final class Match {
+        private final WebElement element;
+        private final boolean visible;
+
+        private Match(WebElement element, boolean visible) {
+            this.element = element;
+            this.visible = visible;
+        }
+
+        WebElement getElement() {
+            return element;
+        }
+
+        boolean isVisible() {
+            return visible;
+        }
+    }
+}
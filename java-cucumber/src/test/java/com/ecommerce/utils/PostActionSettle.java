@@ -0,0 +1,146 @@
+package com.ecommerce.utils;
+
+import com.ecommerce.config.TestConfig;
+import org.aeonbits.owner.ConfigFactory;
+import org.openqa.selenium.JavascriptException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.UnhandledAlertException;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Waits after an action for whichever of its possible outcomes happens first: the URL changes,
+ * one of several elements becomes visible, or an alert opens. Every poll is a single script call
+ * checking all outcomes; the interval starts short and backs off, so a fast response is seen
+ * within milliseconds without hammering the driver while a slow one is pending. A check that
+ * fails because the page is unloading or its window is gone counts as not settled yet.
+ *
+ * Usage: {@code new PostActionSettle(driver).onUrlChange().onVisible("error", ERROR).onAlert().perform("login", button::click)}
+ */
+public class PostActionSettle {
+    private static final Logger logger = LoggerFactory.getLogger(PostActionSettle.class);
+    private static final TestConfig config = ConfigFactory.create(TestConfig.class);
+
+    /** Outcome reported when nothing happened within the timeout */
+    public static final String TIMEOUT = "timeout";
+    public static final String URL_CHANGE = "url change";
+    public static final String ALERT = "alert";
+
+    private static final long FIRST_POLL_MILLIS = 25;
+    private static final long MAX_POLL_MILLIS = 250;
+
+    // Returns the name of the first outcome that happened, or null
+    private static final String CHECK_SCRIPT =
+            FallbackLocator.QUERY_FUNCTIONS +
+            "const startUrl = arguments[0], watchUrl = arguments[1], groups = arguments[2];" +
+            "if (watchUrl && location.href !== startUrl) return '" + URL_CHANGE + "';" +
+            "for (const name of Object.keys(groups)) {" +
+            "  if (groups[name].some(c => query(c).some(visible))) return name;" +
+            "}" +
+            "return null;";
+
+    private final WebDriver driver;
+    private final long timeoutMillis;
+    private final Map<String, List<String>> elementOutcomes = new LinkedHashMap<>();
+    private boolean watchUrl;
+    private boolean watchAlert;
+    private String lastCheckError;
+
+    public PostActionSettle(WebDriver driver) {
+        this(driver, config.defaultTimeout());
+    }
+
+    public PostActionSettle(WebDriver driver, long timeoutMillis) {
+        this.driver = driver;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public PostActionSettle onUrlChange() {
+        watchUrl = true;
+        return this;
+    }
+
+    /**
+     * Settle when any of the candidates (CSS, or XPath prefixed with {@code xpath:}) is visible
+     */
+    public PostActionSettle onVisible(String name, String... candidates) {
+        elementOutcomes.put(name, new ArrayList<>(Arrays.asList(candidates)));
+        return this;
+    }
+
+    public PostActionSettle onAlert() {
+        watchAlert = true;
+        return this;
+    }
+
+    /**
+     * Run the action and wait for the first outcome
+     *
+     * @return the outcome that ended the wait: {@link #URL_CHANGE}, {@link #ALERT}, the name given to
+     *         {@link #onVisible(String, String...)}, or {@link #TIMEOUT}
+     */
+    public String perform(String actionName, Runnable action) {
+        String startUrl = watchUrl ? driver.getCurrentUrl() : null;
+        action.run();
+
+        long start = System.nanoTime();
+        long deadline = start + timeoutMillis * 1_000_000;
+        long pollMillis = FIRST_POLL_MILLIS;
+        int polls = 0;
+        String outcome = null;
+        while (outcome == null) {
+            polls++;
+            outcome = check(startUrl);
+            if (outcome == null) {
+                if (System.nanoTime() >= deadline) {
+                    outcome = TIMEOUT;
+                } else {
+                    sleep(Math.min(pollMillis, Math.max(1, (deadline - System.nanoTime()) / 1_000_000)));
+                    pollMillis = Math.min(pollMillis * 2, MAX_POLL_MILLIS);
+                }
+            }
+        }
+
+        long settleMillis = (System.nanoTime() - start) / 1_000_000;
+        if (TIMEOUT.equals(outcome)) {
+            logger.warn("{} did not settle within {}ms ({} polls){}", actionName, timeoutMillis, polls,
+                    lastCheckError == null ? "" : ", last check failed: " + lastCheckError);
+        } else {
+            logger.info("{} settled on {} after {}ms ({} polls)", actionName, outcome, settleMillis, polls);
+        }
+        return outcome;
+    }
+
+    private String check(String startUrl) {
+        try {
+            return (String) ((JavascriptExecutor) driver).executeScript(CHECK_SCRIPT, startUrl, watchUrl, elementOutcomes);
+        } catch (UnhandledAlertException e) {
+            if (watchAlert) {
+                return ALERT;
+            }
+            throw e;
+        } catch (JavascriptException | NoSuchWindowException e) {
+            // The page is unloading or the window is being swapped by the action; not settled yet
+            lastCheckError = e.getClass().getSimpleName() + ": " + e.getRawMessage();
+            logger.debug("Settle check failed, polling again: {}", lastCheckError);
+            return null;
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the page to settle", e);
+        }
+    }
+}
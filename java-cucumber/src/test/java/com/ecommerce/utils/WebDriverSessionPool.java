@@ -0,0 +1,188 @@
+package com.ecommerce.utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.ChromiumDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
+
+/**
+ * JVM-wide pool of live WebDriver sessions shared across scenarios.
+ * A released session is recycled (alerts closed, extra windows closed, cookies and storage wiped)
+ * and handed to the next scenario; it is retired after a configurable number of uses or when the
+ * scenario failed or the recycle did not succeed. Every Gradle fork is its own JVM with its own pool,
+ * and the pool itself is safe for concurrent scenarios within one JVM.
+ */
+public final class WebDriverSessionPool {
+    private static final Logger logger = LoggerFactory.getLogger(WebDriverSessionPool.class);
+
+    private static final int MAX_USES = Integer.parseInt(System.getProperty("driver.pool.max.uses", "20"));
+    private static final WebDriverSessionPool INSTANCE = new WebDriverSessionPool(MAX_USES);
+
+    private static final String CLEAR_STORAGE_SCRIPT =
+            "try { window.localStorage.clear(); } catch (e) {}" +
+            "try { window.sessionStorage.clear(); } catch (e) {}";
+
+    private final int maxUses;
+    private final ConcurrentLinkedDeque<PooledSession> idle = new ConcurrentLinkedDeque<>();
+    private final List<PooledSession> live = new CopyOnWriteArrayList<>();
+
+    private WebDriverSessionPool(int maxUses) {
+        this.maxUses = Math.max(1, maxUses);
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "webdriver-pool-shutdown"));
+    }
+
+    public static WebDriverSessionPool getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Take an idle session, or start a new one with the given factory
+     */
+    public PooledSession acquire(Supplier<WebDriver> driverFactory) {
+        PooledSession session = idle.pollFirst();
+        if (session == null) {
+            session = new PooledSession(driverFactory.get());
+            live.add(session);
+            logger.info("Started new pooled WebDriver session ({} live)", live.size());
+        } else {
+            logger.info("Reusing pooled WebDriver session (use {} of {})", session.uses + 1, maxUses);
+        }
+        session.uses++;
+        return session;
+    }
+
+    /**
+     * Recycle the session for the next scenario, or retire it after an error or too many uses
+     */
+    public void release(PooledSession session, boolean failed) {
+        if (failed) {
+            logger.info("Retiring WebDriver session after failed scenario");
+            retire(session);
+        } else if (session.uses >= maxUses) {
+            logger.info("Retiring WebDriver session after {} uses", session.uses);
+            retire(session);
+        } else if (recycle(session.driver)) {
+            idle.addFirst(session);
+        } else {
+            retire(session);
+        }
+    }
+
+    /**
+     * Quit the session and remove it from the pool
+     */
+    public void retire(PooledSession session) {
+        live.remove(session);
+        idle.remove(session);
+        try {
+            session.driver.quit();
+        } catch (Exception e) {
+            logger.warn("Error quitting retired WebDriver session: {}", e.getMessage());
+        }
+    }
+
+    private boolean recycle(WebDriver driver) {
+        long start = System.currentTimeMillis();
+        try {
+            dismissAlerts(driver);
+            closeExtraWindows(driver);
+
+            Set<String> origins = new LinkedHashSet<>();
+            String currentOrigin = originOf(driver.getCurrentUrl());
+            if (currentOrigin != null) {
+                origins.add(currentOrigin);
+                ((JavascriptExecutor) driver).executeScript(CLEAR_STORAGE_SCRIPT);
+            }
+            driver.manage().deleteAllCookies();
+
+            if (driver instanceof ChromiumDriver) {
+                // Clears cookies and storage for every origin, not only the current one
+                ChromiumDriver chromium = (ChromiumDriver) driver;
+                chromium.executeCdpCommand("Network.clearBrowserCookies", Map.of());
+                origins.add(originOf(DriverManager.BASE_URL));
+                for (String origin : origins) {
+                    chromium.executeCdpCommand("Storage.clearDataForOrigin",
+                            Map.of("origin", origin, "storageTypes", "all"));
+                }
+            }
+
+            driver.get("about:blank");
+            logger.info("Recycled WebDriver session in {}ms", System.currentTimeMillis() - start);
+            return true;
+        } catch (Exception e) {
+            logger.warn("Failed to recycle WebDriver session, retiring it: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private static void dismissAlerts(WebDriver driver) {
+        for (int i = 0; i < 5; i++) {
+            try {
+                driver.switchTo().alert().dismiss();
+            } catch (NoAlertPresentException e) {
+                return;
+            }
+        }
+    }
+
+    private static void closeExtraWindows(WebDriver driver) {
+        List<String> handles = new ArrayList<>(driver.getWindowHandles());
+        for (int i = 1; i < handles.size(); i++) {
+            driver.switchTo().window(handles.get(i));
+            driver.close();
+        }
+        driver.switchTo().window(handles.get(0));
+    }
+
+    private static String originOf(String url) {
+        if (url == null || !(url.startsWith("http://") || url.startsWith("https://"))) {
+            return null;
+        }
+        URI uri = URI.create(url);
+        return uri.getScheme() + "://" + uri.getAuthority();
+    }
+
+    private void shutdown() {
+        for (PooledSession session : live) {
+            try {
+                session.driver.quit();
+            } catch (Exception e) {
+                logger.warn("Error quitting pooled WebDriver session: {}", e.getMessage());
+            }
+        }
+        live.clear();
+        idle.clear();
+    }
+
+    /**
+     * A live WebDriver session owned by the pool
+     */
+    public static final class PooledSession {
+        private final WebDriver driver;
+        private int uses;
+
+        private PooledSession(WebDriver driver) {
+            this.driver = driver;
+        }
+
+        public WebDriver getDriver() {
+            return driver;
+        }
+
+        public int getUses() {
+            return uses;
+        }
+    }
+}
@@ -39,3 +39,8 @@ Feature: User Login
       | invalid@test.com  | wrongpass    | Invalid credentials   |
       |                   | password123  | Username is required  |
       | user@example.com  |              | Password is required  |
+
+  @session
+  Scenario: Start already logged in through the API
+    Given I am logged in as "user@example.com" with password "password123"
+    Then the browser should hold my API session
@@ -2,21 +2,36 @@ package com.ecommerce.config;
 
 import org.aeonbits.owner.Config;
 
+import java.util.List;
+
 /**
  * Configuration interface for test settings.
  * Uses Owner library for configuration management.
+ *
+ * Sources are merged with the first one winning: system properties, the named execution
+ * profile selected with {@code -Dtest.profile} (ci-fast, debug, perf-measure), then test.properties.
  */
+@Config.LoadPolicy(Config.LoadType.MERGE)
 @Config.Sources({
-    "classpath:test.properties",
     "system:properties",
+    "classpath:profiles/${test.profile}.properties",
+    "classpath:test.properties",
     "system:env"
 })
 public interface TestConfig extends Config {
 
+    @Key("test.profile")
+    @DefaultValue("default")
+    String profile();
+
     @Key("base.url")
     @DefaultValue("http://localhost:3000")
     String baseUrl();
 
+    @Key("api.url")
+    @DefaultValue("http://localhost:5001/api")
+    String apiUrl();
+
     @Key("browser.type")
     @DefaultValue("chromium")
     String browserType();
@@ -33,6 +48,38 @@ public interface TestConfig extends Config {
     @DefaultValue("30000")
     int longTimeout();
 
+    @Key("timeout.navigation")
+    @DefaultValue("30000")
+    int navigationTimeout();
+
+    @Key("slow.mo")
+    @DefaultValue("50")
+    double slowMo();
+
+    @Key("launch.args")
+    @DefaultValue("")
+    String[] launchArgs();
+
+    @Key("trace.mode")
+    @DefaultValue("retain-on-failure")
+    String traceMode();
+
+    @Key("trace.dir")
+    @DefaultValue("test-results/traces")
+    String traceDir();
+
+    @Key("screenshot.on.failure")
+    @DefaultValue("true")
+    boolean screenshotOnFailure();
+
+    @Key("locale")
+    @DefaultValue("en-US")
+    String locale();
+
+    @Key("timezone")
+    @DefaultValue("America/New_York")
+    String timezone();
+
     @Key("viewport.width")
     @DefaultValue("1920")
     int viewportWidth();
@@ -40,4 +87,104 @@ public interface TestConfig extends Config {
     @Key("viewport.height")
     @DefaultValue("1080")
     int viewportHeight();
+
+    @Key("browser.pool.max.per.key")
+    @DefaultValue("4")
+    int browserPoolMaxPerKey();
+
+    @Key("browser.pool.lease.timeout")
+    @DefaultValue("120000")
+    long browserPoolLeaseTimeout();
+
+    @Key("context.pool.warm.size")
+    @DefaultValue("2")
+    int contextPoolWarmSize();
+
+    @Key("readiness.quiet.ms")
+    @DefaultValue("100")
+    int readinessQuietMillis();
+
+    @Key("readiness.ignore")
+    @DefaultValue("")
+    String readinessIgnore();
+
+    @Key("auth.state.dir")
+    @DefaultValue("test-results/.auth")
+    String authStateDir();
+
+    @Key("auth.state.ttl.minutes")
+    @DefaultValue("30")
+    int authStateTtlMinutes();
+
+    @Key("auth.state.source")
+    @DefaultValue("ui")
+    String authStateSource();
+
+    @Key("auth.login.path")
+    @DefaultValue("/auth/login")
+    String authLoginPath();
+
+    @Key("auth.token.key")
+    @DefaultValue("token")
+    String authTokenKey();
+
+    @Key("fixture.cart.path")
+    @DefaultValue("/cart/batch")
+    String fixtureCartPath();
+
+    @Key("resources.policy")
+    @DefaultValue("full")
+    String resourcesPolicy();
+
+    @Key("resources.block.patterns")
+    @DefaultValue("")
+    List<String> resourcesBlockPatterns();
+
+    @Key("fixture.server")
+    @DefaultValue("false")
+    boolean fixtureServer();
+
+    @Key("network.profile")
+    @DefaultValue("")
+    String networkProfile();
+
+    @Key("har.mode")
+    @DefaultValue("off")
+    String harMode();
+
+    @Key("har.dir")
+    @DefaultValue("src/test/resources/har")
+    String harDir();
+
+    @Key("har.url")
+    @DefaultValue("")
+    String harUrl();
+
+    @Key("har.not.found")
+    @DefaultValue("abort")
+    String harNotFound();
+
+    @Key("step.overhead.probe")
+    @DefaultValue("false")
+    boolean stepOverheadProbe();
+
+    @Key("interactions.enabled")
+    @DefaultValue("true")
+    boolean interactionsEnabled();
+
+    @Key("interactions.file")
+    @DefaultValue("test-results/interactions.jsonl")
+    String interactionsFile();
+
+    @Key("interactions.buffer.size")
+    @DefaultValue("8192")
+    int interactionsBufferSize();
+
+    @Key("interactions.sample.threshold")
+    @DefaultValue("0.5")
+    double interactionsSampleThreshold();
+
+    @Key("interactions.sample.rate")
+    @DefaultValue("10")
+    int interactionsSampleRate();
 }
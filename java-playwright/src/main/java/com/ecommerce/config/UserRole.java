@@ -0,0 +1,32 @@
+package com.ecommerce.config;
+
+/**
+ * Test accounts of the application under test
+ */
+public enum UserRole {
+    ADMIN("admin@ecommerce.com", "admin123"),
+    TEST_USER("user@test.com", "user123");
+
+    private final String email;
+    private final String password;
+
+    UserRole(String email, String password) {
+        this.email = email;
+        this.password = password;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    /**
+     * Lower-case name used for storage state files, e.g. "test-user"
+     */
+    public String key() {
+        return name().toLowerCase().replace('_', '-');
+    }
+}
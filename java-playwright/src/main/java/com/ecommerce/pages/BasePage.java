@@ -1,8 +1,14 @@
 package com.ecommerce.pages;
 
 import com.ecommerce.config.TestConfig;
+import com.ecommerce.utils.InteractionRecorder;
+import com.ecommerce.utils.LatencyStats;
+import com.ecommerce.utils.NetworkProfile;
+import com.ecommerce.utils.PageReadiness;
+import com.microsoft.playwright.JSHandle;
 import com.microsoft.playwright.Locator;
 import com.microsoft.playwright.Page;
+import com.microsoft.playwright.TimeoutError;
 import com.microsoft.playwright.options.WaitForSelectorState;
 import io.qameta.allure.Step;
 import org.aeonbits.owner.ConfigFactory;
@@ -10,6 +16,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static com.ecommerce.utils.InteractionRecorder.Kind.ACTION;
+import static com.ecommerce.utils.InteractionRecorder.Kind.QUERY;
 
 /**
  * Base page class containing common methods and utilities for all page objects.
@@ -19,24 +33,59 @@ import java.nio.file.Paths;
 public abstract class BasePage {
     protected final Page page;
     protected final Logger logger;
+    protected final PageReadiness readiness;
     protected static final TestConfig config = ConfigFactory.create(TestConfig.class);
+    // Interactions go to the asynchronous JSONL event log instead of per-call INFO logging
+    protected static final InteractionRecorder events = InteractionRecorder.getInstance();
 
-    // Common timeouts
-    protected static final int DEFAULT_TIMEOUT = 10000;
-    protected static final int LONG_TIMEOUT = 30000;
+    // Common timeouts, from the active execution profile
+    protected static final int DEFAULT_TIMEOUT = config.defaultTimeout();
+    protected static final int LONG_TIMEOUT = config.longTimeout();
+    // Page-ready timings are only collected while a network profile is active
+    private static final NetworkProfile NETWORK_PROFILE = NetworkProfile.active();
+    
+    // Sets each field the way a user would: native value setter (so framework-controlled inputs
+    // see the change), then focus, input, change and blur. Returns the selectors it could not fill.
+    private static final String FILL_FORM_SCRIPT =
+            "fields => {" +
+            "  const missed = [];" +
+            "  const fire = (el, type) => el.dispatchEvent(new Event(type, { bubbles: true }));" +
+            "  for (const [selector, value] of fields) {" +
+            "    let el;" +
+            "    try { el = document.querySelector(selector); } catch (e) { el = null; }" +
+            "    if (!el || el.disabled) { missed.push(selector); continue; }" +
+            "    el.focus();" +
+            "    if (el.type === 'checkbox' || el.type === 'radio') {" +
+            "      if (el.checked !== (value === true || value === 'true')) el.click();" +
+            "    } else if (el.tagName === 'SELECT') {" +
+            "      const option = [...el.options].find(o => o.value === value || o.label === value || o.text.trim() === value);" +
+            "      if (!option) { missed.push(selector); continue; }" +
+            "      Object.getOwnPropertyDescriptor(HTMLSelectElement.prototype, 'value').set.call(el, option.value);" +
+            "      fire(el, 'input'); fire(el, 'change');" +
+            "    } else {" +
+            "      const proto = el.tagName === 'TEXTAREA' ? HTMLTextAreaElement.prototype : HTMLInputElement.prototype;" +
+            "      Object.getOwnPropertyDescriptor(proto, 'value').set.call(el, value);" +
+            "      fire(el, 'input'); fire(el, 'change');" +
+            "    }" +
+            "    el.blur();" +
+            "  }" +
+            "  return missed;" +
+            "}";
     
     public BasePage(Page page) {
         this.page = page;
         this.logger = LoggerFactory.getLogger(this.getClass());
+        this.readiness = PageReadiness.of(page);
     }
     
     // Navigation methods
     @Step("Navigate to URL: {url}")
     public void navigateTo(String url) {
         String fullUrl = buildFullUrl(url);
-        logger.info("Navigating to: {}", fullUrl);
+        long start = System.nanoTime();
         page.navigate(fullUrl);
         waitForPageLoad();
+        events.record(ACTION, "navigate", fullUrl, null, start);
     }
     
     /**
@@ -56,64 +105,152 @@ public abstract class BasePage {
         }
     }
 
+    /**
+     * Wait for the load event, then until no request is in flight and the DOM is quiet
+     */
     @Step("Wait for page to load")
     public void waitForPageLoad() {
+        long start = System.nanoTime();
         page.waitForLoadState();
-        logger.info("Page loaded successfully");
+        readiness.awaitSettled(LONG_TIMEOUT);
+        events.record(ACTION, "waitForLoad", page.url(), null, start);
+    }
+    
+    /**
+     * Wait until no request is in flight and the DOM is quiet, e.g. after a client-side re-render
+     */
+    @Step("Wait for page to settle")
+    public void waitForPageSettled() {
+        long start = System.nanoTime();
+        readiness.awaitSettled(LONG_TIMEOUT);
+        events.record(QUERY, "waitSettled", page.url(), null, start);
+    }
+    
+    /**
+     * Record the time from the start of the current document's navigation until now as this page
+     * object's ready time under the active network profile. Later calls on the same document,
+     * e.g. after a client-side refresh, are ignored.
+     */
+    protected void recordPageReady() {
+        if (NETWORK_PROFILE == null) {
+            return;
+        }
+        Number readyMillis = (Number) page.evaluate(
+                "() => { if (window.__pageReadyRecorded) return -1; window.__pageReadyRecorded = true; return performance.now(); }");
+        if (readyMillis.doubleValue() >= 0) {
+            LatencyStats.named("page ready [" + NETWORK_PROFILE.key() + "] " + getClass().getSimpleName())
+                    .record((long) (readyMillis.doubleValue() * 1_000_000));
+        }
+    }
+    
+    /**
+     * Run an action that is known to call the given API paths and return once their responses
+     * have arrived and the page has settled
+     */
+    protected void performAndSettle(Runnable action, String... apiPaths) {
+        long start = System.nanoTime();
+        readiness.runAndAwait(action, LONG_TIMEOUT, apiPaths);
+        events.record(ACTION, "settle", String.join(",", apiPaths), null, start);
     }
     
     // Element interaction methods
     @Step("Click element: {selector}")
     public void clickElement(String selector) {
-        logger.info("Clicking element: {}", selector);
+        long start = System.nanoTime();
         page.locator(selector).click();
+        events.record(ACTION, "click", selector, null, start);
     }
     
     @Step("Fill input field: {selector} with text: {text}")
     public void fillInput(String selector, String text) {
-        logger.info("Filling input {} with text: {}", selector, text);
+        long start = System.nanoTime();
         page.locator(selector).fill(text);
+        events.record(ACTION, "fill", selector, text, start);
+    }
+    
+    /**
+     * Fill a whole form in one round trip. String values go to text inputs, textareas and selects
+     * (matched by option value or label), Boolean values set checkboxes and radios. A checkbox or
+     * radio is checked for {@code true} or {@code "true"} and unchecked for anything else. Each field gets
+     * the input and change events a user's typing would fire. Fields that are not rendered yet or
+     * not plain CSS are filled one by one with auto-waiting afterwards.
+     *
+     * @param formName name the fill time is reported under
+     * @param fields   selector to value, filled in iteration order
+     */
+    @Step("Fill {formName} form")
+    public void fillForm(String formName, Map<String, ?> fields) {
+        long start = System.nanoTime();
+        List<List<Object>> entries = new ArrayList<>();
+        for (Map.Entry<String, ?> field : fields.entrySet()) {
+            entries.add(Arrays.asList(field.getKey(), field.getValue()));
+        }
+        @SuppressWarnings("unchecked")
+        List<String> missed = (List<String>) page.evaluate(FILL_FORM_SCRIPT, entries);
+        for (String selector : missed) {
+            Object value = fields.get(selector);
+            Locator field = page.locator(selector);
+            String kind = value instanceof Boolean ? "checkbox"
+                    : (String) field.evaluate("el => el.type === 'checkbox' || el.type === 'radio' ? 'checkbox' : el.tagName.toLowerCase()");
+            if ("checkbox".equals(kind)) {
+                field.setChecked(Boolean.TRUE.equals(value) || "true".equals(value));
+            } else if ("select".equals(kind)) {
+                field.selectOption(String.valueOf(value));
+            } else {
+                field.fill(String.valueOf(value));
+            }
+        }
+        LatencyStats.named("form fill: " + formName).record(System.nanoTime() - start);
+        events.record(ACTION, "fillForm", formName, fields.size() + " fields, " + missed.size() + " one by one", start);
+        logger.debug("Filled {} form ({} fields, {} one by one) in {}ms", formName, fields.size(), missed.size(),
+                (System.nanoTime() - start) / 1_000_000);
     }
     
     @Step("Clear input field: {selector}")
     public void clearInput(String selector) {
-        logger.info("Clearing input: {}", selector);
+        long start = System.nanoTime();
         page.locator(selector).clear();
+        events.record(ACTION, "clear", selector, null, start);
     }
     
     @Step("Get text from element: {selector}")
     public String getText(String selector) {
+        long start = System.nanoTime();
         String text = page.locator(selector).textContent();
-        logger.info("Retrieved text '{}' from element: {}", text, selector);
+        events.record(QUERY, "getText", selector, text, start);
         return text != null ? text.trim() : "";
     }
     
     @Step("Get attribute {attribute} from element: {selector}")
     public String getAttribute(String selector, String attribute) {
+        long start = System.nanoTime();
         String value = page.locator(selector).getAttribute(attribute);
-        logger.info("Retrieved attribute '{}' = '{}' from element: {}", attribute, value, selector);
+        events.record(QUERY, "getAttribute:" + attribute, selector, value, start);
         return value;
     }
     
     // Visibility and state methods
     @Step("Check if element is visible: {selector}")
     public boolean isElementVisible(String selector) {
+        long start = System.nanoTime();
         boolean isVisible = page.locator(selector).isVisible();
-        logger.info("Element {} visibility: {}", selector, isVisible);
+        events.record(QUERY, "isVisible", selector, isVisible, start);
         return isVisible;
     }
     
     @Step("Check if element is enabled: {selector}")
     public boolean isElementEnabled(String selector) {
+        long start = System.nanoTime();
         boolean isEnabled = page.locator(selector).isEnabled();
-        logger.info("Element {} enabled state: {}", selector, isEnabled);
+        events.record(QUERY, "isEnabled", selector, isEnabled, start);
         return isEnabled;
     }
     
     @Step("Check if element is checked: {selector}")
     public boolean isElementChecked(String selector) {
+        long start = System.nanoTime();
         boolean isChecked = page.locator(selector).isChecked();
-        logger.info("Element {} checked state: {}", selector, isChecked);
+        events.record(QUERY, "isChecked", selector, isChecked, start);
         return isChecked;
     }
     
@@ -125,11 +262,12 @@ public abstract class BasePage {
 
     @Step("Wait for element to be visible: {selector} with timeout: {timeout}ms")
     public Locator waitForElementVisible(String selector, int timeout) {
-        logger.info("Waiting for element to be visible: {} (timeout: {}ms)", selector, timeout);
+        long start = System.nanoTime();
         Locator locator = page.locator(selector);
         locator.waitFor(new Locator.WaitForOptions()
                 .setState(WaitForSelectorState.VISIBLE)
                 .setTimeout(timeout));
+        events.record(QUERY, "waitVisible", selector, null, start);
         return locator;
     }
     
@@ -140,50 +278,141 @@ public abstract class BasePage {
     
     @Step("Wait for element to be hidden: {selector} with timeout: {timeout}ms")
     public void waitForElementHidden(String selector, int timeout) {
-        logger.info("Waiting for element to be hidden: {} (timeout: {}ms)", selector, timeout);
+        long start = System.nanoTime();
         page.waitForSelector(selector, new Page.WaitForSelectorOptions()
                 .setState(WaitForSelectorState.HIDDEN)
                 .setTimeout(timeout));
+        events.record(QUERY, "waitHidden", selector, null, start);
     }
     
     @Step("Wait for URL to match: {urlPattern}")
     public void waitForUrl(String urlPattern) {
-        logger.info("Waiting for URL to match: {}", urlPattern);
+        long start = System.nanoTime();
         page.waitForURL(urlPattern);
+        events.record(QUERY, "waitForUrl", urlPattern, null, start);
+    }
+    
+    /**
+     * Wait until any of the selectors matches a visible element. All alternatives are awaited
+     * as one combined locator, so an absent alternative costs nothing and the wait ends as soon
+     * as the first one shows up.
+     *
+     * @return the selector that matched, or empty when none appeared within the timeout
+     */
+    @Step("Wait for any of: {selectors}")
+    public Optional<String> waitForAny(int timeout, String... selectors) {
+        if (selectors.length == 0) {
+            throw new IllegalArgumentException("At least one selector is required");
+        }
+        long start = System.nanoTime();
+        Locator any = page.locator(selectors[0] + " >> visible=true");
+        for (int i = 1; i < selectors.length; i++) {
+            any = any.or(page.locator(selectors[i] + " >> visible=true"));
+        }
+        
+        String winner = null;
+        try {
+            Locator first = any.first();
+            first.waitFor(new Locator.WaitForOptions().setState(WaitForSelectorState.VISIBLE).setTimeout(timeout));
+            winner = matchedSelector(first, selectors);
+        } catch (TimeoutError e) {
+            logger.debug("None of {} appeared within {}ms", Arrays.toString(selectors), timeout);
+        }
+        LatencyStats.named("selector race").record(System.nanoTime() - start);
+        events.record(QUERY, "waitForAny", String.join(" | ", selectors), winner, start);
+        return Optional.ofNullable(winner);
+    }
+    
+    /**
+     * Wait until any of the conditions holds. The conditions are checked together in the page,
+     * in the order given, and the wait stops at the first one that is true.
+     *
+     * @return the condition that held, or empty when none did within the timeout
+     */
+    @Step("Race for first of: {conditions}")
+    public Optional<RaceCondition> raceFor(int timeout, RaceCondition... conditions) {
+        if (conditions.length == 0) {
+            throw new IllegalArgumentException("At least one condition is required");
+        }
+        long start = System.nanoTime();
+        StringBuilder script = new StringBuilder("() => { const checks = [");
+        for (RaceCondition condition : conditions) {
+            script.append("() => (").append(condition.getExpression()).append("),");
+        }
+        script.append("]; for (let i = 0; i < checks.length; i++) {"
+                + " try { if (checks[i]()) return i + 1; } catch (e) {} } return 0; }");
+        
+        RaceCondition winner = null;
+        JSHandle result = null;
+        try {
+            result = page.waitForFunction(script.toString(), null,
+                    new Page.WaitForFunctionOptions().setTimeout(timeout));
+            winner = conditions[((Number) result.jsonValue()).intValue() - 1];
+        } catch (TimeoutError e) {
+            logger.debug("None of {} held within {}ms", Arrays.toString(conditions), timeout);
+        } finally {
+            if (result != null) {
+                result.dispose();
+            }
+        }
+        LatencyStats.named("condition race").record(System.nanoTime() - start);
+        events.record(QUERY, "raceFor", Arrays.toString(conditions), winner, start);
+        return Optional.ofNullable(winner);
+    }
+    
+    // Which alternative the winning element matched; CSS is checked in the page, other engines one by one
+    private String matchedSelector(Locator element, String[] selectors) {
+        Number index = (Number) element.evaluate(
+                "(el, sels) => sels.findIndex(s => { try { return el.matches(s); } catch (e) { return false; } })",
+                Arrays.asList(selectors));
+        if (index.intValue() >= 0) {
+            return selectors[index.intValue()];
+        }
+        for (String selector : selectors) {
+            if (page.locator(selector).first().isVisible()) {
+                return selector;
+            }
+        }
+        return selectors[0];
     }
     
     // Utility methods
     @Step("Get current URL")
     public String getCurrentUrl() {
+        long start = System.nanoTime();
         String url = page.url();
-        logger.info("Current URL: {}", url);
+        events.record(QUERY, "url", null, url, start);
         return url;
     }
     
     @Step("Get page title")
     public String getPageTitle() {
+        long start = System.nanoTime();
         String title = page.title();
-        logger.info("Page title: {}", title);
+        events.record(QUERY, "title", null, title, start);
         return title;
     }
     
     @Step("Refresh page")
     public void refreshPage() {
-        logger.info("Refreshing page");
+        long start = System.nanoTime();
         page.reload();
         waitForPageLoad();
+        events.record(ACTION, "reload", page.url(), null, start);
     }
     
     @Step("Scroll element into view: {selector}")
     public void scrollToElement(String selector) {
-        logger.info("Scrolling to element: {}", selector);
+        long start = System.nanoTime();
         page.locator(selector).scrollIntoViewIfNeeded();
+        events.record(ACTION, "scrollIntoView", selector, null, start);
     }
     
     @Step("Hover over element: {selector}")
     public void hoverOverElement(String selector) {
-        logger.info("Hovering over element: {}", selector);
+        long start = System.nanoTime();
         page.locator(selector).hover();
+        events.record(ACTION, "hover", selector, null, start);
     }
     
     // Screenshot methods
@@ -206,40 +435,43 @@ public abstract class BasePage {
     // Dropdown and select methods
     @Step("Select option by text: {optionText} from dropdown: {selector}")
     public void selectOptionByText(String selector, String optionText) {
-        logger.info("Selecting option '{}' from dropdown: {}", optionText, selector);
+        long start = System.nanoTime();
         page.locator(selector).selectOption(optionText);
+        events.record(ACTION, "selectByText", selector, optionText, start);
     }
     
     @Step("Select option by value: {optionValue} from dropdown: {selector}")
     public void selectOptionByValue(String selector, String optionValue) {
-        logger.info("Selecting option value '{}' from dropdown: {}", optionValue, selector);
+        long start = System.nanoTime();
         page.locator(selector).selectOption(new String[]{optionValue});
+        events.record(ACTION, "selectByValue", selector, optionValue, start);
     }
     
     // Alert and dialog handling
     @Step("Accept browser dialog")
     public void acceptDialog() {
-        logger.info("Setting up dialog handler to accept");
         page.onDialog(dialog -> {
-            logger.info("Accepting dialog: {}", dialog.message());
+            long start = System.nanoTime();
             dialog.accept();
+            events.record(ACTION, "acceptDialog", dialog.type(), dialog.message(), start);
         });
     }
     
     @Step("Dismiss browser dialog")
     public void dismissDialog() {
-        logger.info("Setting up dialog handler to dismiss");
         page.onDialog(dialog -> {
-            logger.info("Dismissing dialog: {}", dialog.message());
+            long start = System.nanoTime();
             dialog.dismiss();
+            events.record(ACTION, "dismissDialog", dialog.type(), dialog.message(), start);
         });
     }
     
     // Count methods
     @Step("Count elements matching selector: {selector}")
     public int getElementCount(String selector) {
+        long start = System.nanoTime();
         int count = page.locator(selector).count();
-        logger.info("Found {} elements matching selector: {}", count, selector);
+        events.record(QUERY, "count", selector, count, start);
         return count;
     }
     
@@ -248,7 +480,7 @@ public abstract class BasePage {
     public boolean elementContainsText(String selector, String expectedText) {
         String actualText = getText(selector);
         boolean contains = actualText.contains(expectedText);
-        logger.info("Element {} contains text '{}': {}", selector, expectedText, contains);
+        logger.debug("Element {} contains text '{}': {}", selector, expectedText, contains);
         return contains;
     }
     
@@ -256,7 +488,7 @@ public abstract class BasePage {
     public boolean pageTitleContains(String expectedTitle) {
         String actualTitle = getPageTitle();
         boolean contains = actualTitle.contains(expectedTitle);
-        logger.info("Page title contains '{}': {}", expectedTitle, contains);
+        logger.debug("Page title contains '{}': {}", expectedTitle, contains);
         return contains;
     }
 }
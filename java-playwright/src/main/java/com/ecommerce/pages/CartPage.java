@@ -1,8 +1,12 @@
 package com.ecommerce.pages;
 
+import com.ecommerce.utils.Money;
 import com.microsoft.playwright.Page;
 import io.qameta.allure.Step;
 
+import java.util.List;
+import java.util.Map;
+
 /**
  * Cart page object containing all elements and actions for the shopping cart page.
  * This class implements the Page Object Model pattern for the cart functionality.
@@ -50,6 +54,17 @@ public class CartPage extends BasePage {
     private static final String PROMO_SUCCESS_MESSAGE = "[data-testid='promo-success-message']";
     private static final String PROMO_ERROR_MESSAGE = "[data-testid='promo-error-message']";
     
+    private static final Map<String, String> SUMMARY_SELECTORS = Map.of(
+            "item", CART_ITEM,
+            "name", ITEM_NAME,
+            "price", ITEM_PRICE,
+            "quantity", QUANTITY_INPUT,
+            "lineTotal", ITEM_SUBTOTAL,
+            "subtotal", SUBTOTAL,
+            "tax", TAX,
+            "shipping", SHIPPING,
+            "total", TOTAL);
+    
     public CartPage(Page page) {
         super(page);
     }
@@ -66,6 +81,7 @@ public class CartPage extends BasePage {
     public CartPage waitForCartPageToLoad() {
         waitForElementVisible(CART_CONTAINER);
         logger.info("Cart page loaded successfully");
+        recordPageReady();
         return this;
     }
     
@@ -253,19 +269,28 @@ public class CartPage extends BasePage {
         return false;
     }
     
+    /**
+     * Line items and totals of the cart, read in a single browser call
+     */
+    @Step("Get cart summary snapshot")
+    public OrderSummary getOrderSummary() {
+        OrderSummary summary = OrderSummary.capture(page, SUMMARY_SELECTORS);
+        logger.info("Cart summary: {}", summary);
+        return summary;
+    }
+    
     @Step("Verify cart total is correct")
     public boolean isCartTotalCorrect() {
         try {
-            double subtotal = extractPriceValue(getSubtotal());
-            double tax = extractPriceValue(getTax());
-            double shipping = extractPriceValue(getShipping());
-            double total = extractPriceValue(getTotal());
-            
-            double expectedTotal = subtotal + tax + shipping;
-            double difference = Math.abs(total - expectedTotal);
-            
-            // Allow for small rounding differences
-            return difference < 0.01;
+            OrderSummary summary = getOrderSummary();
+            if (summary.getSubtotal() == null || summary.getTotal() == null) {
+                logger.warn("Cart subtotal or total is not displayed");
+                return false;
+            }
+            // Exact decimal arithmetic, so no rounding tolerance is needed
+            return summary.getTotal().isSameAmount(summary.getSubtotal()
+                    .plus(summary.getTax() == null ? Money.ZERO : summary.getTax())
+                    .plus(summary.getShipping() == null ? Money.ZERO : summary.getShipping()));
         } catch (Exception e) {
             logger.warn("Error validating cart total: {}", e.getMessage());
             return false;
@@ -275,29 +300,26 @@ public class CartPage extends BasePage {
     @Step("Calculate expected item subtotal for index: {index}")
     public boolean isItemSubtotalCorrect(int index) {
         try {
-            double price = extractPriceValue(getItemPrice(index));
-            int quantity = Integer.parseInt(getItemQuantity(index));
-            double subtotal = extractPriceValue(getItemSubtotal(index));
-            
-            double expectedSubtotal = price * quantity;
-            double difference = Math.abs(subtotal - expectedSubtotal);
-            
-            // Allow for small rounding differences
-            return difference < 0.01;
+            OrderSummary.LineItem item = getOrderSummary().getItems().get(index);
+            return item.getUnitPrice() != null && item.getQuantity() != null && item.getLineTotal() != null
+                    && item.getLineTotal().isSameAmount(item.getUnitPrice().times(item.getQuantity()));
         } catch (Exception e) {
             logger.warn("Error validating item subtotal for index {}: {}", index, e.getMessage());
             return false;
         }
     }
     
-    private double extractPriceValue(String priceText) {
-        try {
-            // Remove currency symbols and extract numeric value
-            String numericPrice = priceText.replaceAll("[^0-9.]", "");
-            return Double.parseDouble(numericPrice);
-        } catch (NumberFormatException e) {
-            logger.warn("Could not parse price: {}", priceText);
-            return 0.0;
+    /**
+     * Reconcile line totals, subtotal, tax, shipping and total from one snapshot
+     *
+     * @return every mismatch found; empty when the cart adds up
+     */
+    @Step("Reconcile cart totals")
+    public List<String> reconcileCart() {
+        List<String> problems = getOrderSummary().reconcile();
+        if (!problems.isEmpty()) {
+            logger.warn("Cart does not reconcile: {}", problems);
         }
+        return problems;
     }
 }
@@ -1,8 +1,14 @@
 package com.ecommerce.pages;
 
+import com.ecommerce.utils.Money;
 import com.microsoft.playwright.Page;
 import io.qameta.allure.Step;
 
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 /**
  * Checkout page object containing all elements and actions for the checkout process.
  * This class implements the Page Object Model pattern for the checkout functionality.
@@ -76,6 +82,17 @@ public class CheckoutPage extends BasePage {
     private static final String ERROR_MESSAGE = "[data-testid='error-message']";
     private static final String FIELD_ERROR = "[data-testid='field-error']";
     
+    private static final Map<String, String> SUMMARY_SELECTORS = Map.of(
+            "item", ORDER_SUMMARY + " " + ORDER_ITEM,
+            "name", ITEM_NAME,
+            "price", ITEM_PRICE,
+            "quantity", ITEM_QUANTITY,
+            "subtotal", ORDER_SUMMARY + " " + SUBTOTAL,
+            "tax", ORDER_SUMMARY + " " + TAX,
+            "shipping", ORDER_SUMMARY + " " + SHIPPING_COST,
+            "total", ORDER_SUMMARY + " " + TOTAL);
+    private static final BigDecimal SUB_CENT_TOLERANCE = new BigDecimal("0.01");
+    
     public CheckoutPage(Page page) {
         super(page);
     }
@@ -93,6 +110,7 @@ public class CheckoutPage extends BasePage {
         waitForElementVisible(CHECKOUT_CONTAINER);
         waitForElementVisible(SHIPPING_SECTION);
         logger.info("Checkout page loaded successfully");
+        recordPageReady();
         return this;
     }
     
@@ -101,15 +119,18 @@ public class CheckoutPage extends BasePage {
     public CheckoutPage fillShippingInformation(String firstName, String lastName, String email, 
                                                String phone, String address, String city, 
                                                String state, String zip, String country) {
-        fillInput(FIRST_NAME_INPUT, firstName);
-        fillInput(LAST_NAME_INPUT, lastName);
-        fillInput(EMAIL_INPUT, email);
-        fillInput(PHONE_INPUT, phone);
-        fillInput(ADDRESS_INPUT, address);
-        fillInput(CITY_INPUT, city);
-        selectOptionByText(STATE_SELECT, state);
-        fillInput(ZIP_INPUT, zip);
-        selectOptionByText(COUNTRY_SELECT, country);
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put(FIRST_NAME_INPUT, firstName);
+        fields.put(LAST_NAME_INPUT, lastName);
+        fields.put(EMAIL_INPUT, email);
+        fields.put(PHONE_INPUT, phone);
+        fields.put(ADDRESS_INPUT, address);
+        fields.put(CITY_INPUT, city);
+        // Country before state, in case the state options depend on the country
+        fields.put(COUNTRY_SELECT, country);
+        fields.put(STATE_SELECT, state);
+        fields.put(ZIP_INPUT, zip);
+        fillForm("shipping", fields);
         
         logger.info("Filled shipping information for: {} {}", firstName, lastName);
         return this;
@@ -172,10 +193,12 @@ public class CheckoutPage extends BasePage {
     // Payment information
     @Step("Fill payment information")
     public CheckoutPage fillPaymentInformation(String cardNumber, String expiry, String cvc, String cardName) {
-        fillInput(CARD_NUMBER_INPUT, cardNumber);
-        fillInput(CARD_EXPIRY_INPUT, expiry);
-        fillInput(CARD_CVC_INPUT, cvc);
-        fillInput(CARD_NAME_INPUT, cardName);
+        Map<String, Object> fields = new LinkedHashMap<>();
+        fields.put(CARD_NUMBER_INPUT, cardNumber);
+        fields.put(CARD_EXPIRY_INPUT, expiry);
+        fields.put(CARD_CVC_INPUT, cvc);
+        fields.put(CARD_NAME_INPUT, cardName);
+        fillForm("payment", fields);
         
         logger.info("Filled payment information for card ending in: {}", cardNumber.substring(Math.max(0, cardNumber.length() - 4)));
         return this;
@@ -328,34 +351,72 @@ public class CheckoutPage extends BasePage {
                isElementVisible(ORDER_SUMMARY);
     }
     
+    /**
+     * Line items and totals of the order summary, read in a single browser call
+     */
+    @Step("Get order summary snapshot")
+    public OrderSummary getOrderSummary() {
+        OrderSummary summary = OrderSummary.capture(page, SUMMARY_SELECTORS);
+        logger.info("Order summary: {}", summary);
+        return summary;
+    }
+    
     // Validation helpers
-    @Step("Verify order summary matches cart")
+    
+    /**
+     * Compare the order summary with expected values written as doubles. Doubles cannot hold every
+     * cent exactly, so each amount matches when it is less than a cent off.
+     */
     public boolean doesOrderSummaryMatchExpected(double expectedSubtotal, double expectedTax, double expectedShipping) {
+        return orderSummaryMatches(BigDecimal.valueOf(expectedSubtotal), BigDecimal.valueOf(expectedTax),
+                BigDecimal.valueOf(expectedShipping), SUB_CENT_TOLERANCE);
+    }
+    
+    /**
+     * Compare the order summary with exact expected amounts
+     */
+    public boolean doesOrderSummaryMatchExpected(Money expectedSubtotal, Money expectedTax, Money expectedShipping) {
+        return orderSummaryMatches(expectedSubtotal.getAmount(), expectedTax.getAmount(),
+                expectedShipping.getAmount(), BigDecimal.ZERO);
+    }
+    
+    @Step("Verify order summary matches cart")
+    private boolean orderSummaryMatches(BigDecimal expectedSubtotal, BigDecimal expectedTax, BigDecimal expectedShipping,
+                                        BigDecimal tolerance) {
         try {
-            double actualSubtotal = extractPriceValue(getSubtotal());
-            double actualTax = extractPriceValue(getTaxAmount());
-            double actualShipping = extractPriceValue(getShippingCost());
-            double actualTotal = extractPriceValue(getOrderTotal());
-            
-            double expectedTotal = expectedSubtotal + expectedTax + expectedShipping;
+            OrderSummary summary = getOrderSummary();
+            BigDecimal expectedTotal = expectedSubtotal.add(expectedTax).add(expectedShipping);
             
-            return Math.abs(actualSubtotal - expectedSubtotal) < 0.01 &&
-                   Math.abs(actualTax - expectedTax) < 0.01 &&
-                   Math.abs(actualShipping - expectedShipping) < 0.01 &&
-                   Math.abs(actualTotal - expectedTotal) < 0.01;
+            return isWithin(summary.getSubtotal(), expectedSubtotal, tolerance) &&
+                   isWithin(summary.getTax(), expectedTax, tolerance) &&
+                   isWithin(summary.getShipping(), expectedShipping, tolerance) &&
+                   isWithin(summary.getTotal(), expectedTotal, tolerance);
         } catch (Exception e) {
             logger.warn("Error validating order summary: {}", e.getMessage());
             return false;
         }
     }
     
-    private double extractPriceValue(String priceText) {
-        try {
-            String numericPrice = priceText.replaceAll("[^0-9.]", "");
-            return Double.parseDouble(numericPrice);
-        } catch (NumberFormatException e) {
-            logger.warn("Could not parse price: {}", priceText);
-            return 0.0;
+    // Less than the tolerance apart, or exactly equal when the tolerance is zero
+    private static boolean isWithin(Money actual, BigDecimal expected, BigDecimal tolerance) {
+        if (actual == null) {
+            return false;
+        }
+        BigDecimal difference = actual.getAmount().subtract(expected).abs();
+        return tolerance.signum() == 0 ? difference.signum() == 0 : difference.compareTo(tolerance) < 0;
+    }
+    
+    /**
+     * Reconcile line items, subtotal, tax, shipping and total from one snapshot
+     *
+     * @return every mismatch found; empty when the order adds up
+     */
+    @Step("Reconcile order summary")
+    public List<String> reconcileOrder() {
+        List<String> problems = getOrderSummary().reconcile();
+        if (!problems.isEmpty()) {
+            logger.warn("Order summary does not reconcile: {}", problems);
         }
+        return problems;
     }
 }
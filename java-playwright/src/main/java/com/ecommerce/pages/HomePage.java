@@ -3,6 +3,8 @@ package com.ecommerce.pages;
 import com.microsoft.playwright.Page;
 import io.qameta.allure.Step;
 
+import java.util.Optional;
+
 /**
  * Home page object containing all elements and actions for the home page.
  * This class implements the Page Object Model pattern for the home page functionality.
@@ -48,6 +50,12 @@ public class HomePage extends BasePage {
     // Footer elements
     private static final String FOOTER = "[data-testid='footer']";
     private static final String FOOTER_LINKS = "[data-testid='footer-link']";
+
+    // Home page readiness: any hero part, or a complete document whose footer rendered without one
+    private static final RaceCondition HERO_READY = RaceCondition.visible(HERO_SECTION);
+    private static final RaceCondition HERO_TITLE_READY = RaceCondition.visible(HERO_TITLE);
+    private static final RaceCondition SHOP_NOW_READY = RaceCondition.visible(SHOP_NOW_BUTTON);
+    private static final RaceCondition LOADED_WITHOUT_HERO = RaceCondition.loadedWith(FOOTER);
     
     public HomePage(Page page) {
         super(page);
@@ -64,13 +72,16 @@ public class HomePage extends BasePage {
     @Step("Wait for home page to load")
     public HomePage waitForHomePageToLoad() {
         waitForElementVisible(HEADER);
-        // Try to wait for hero section, but don't fail if it's not found
-        try {
-            waitForElementVisible(HERO_SECTION, 15000); // Increased timeout to 15 seconds
-        } catch (Exception e) {
+        // The hero is optional: whichever of its parts renders first ends the wait, and a fully
+        // loaded page with its footer but no hero ends it too
+        Optional<RaceCondition> hero = raceFor(DEFAULT_TIMEOUT, HERO_READY, HERO_TITLE_READY, SHOP_NOW_READY,
+                LOADED_WITHOUT_HERO);
+        if (hero.isPresent() && hero.get() != LOADED_WITHOUT_HERO) {
+            logger.info("Home page loaded successfully (hero matched {})", hero.get());
+        } else {
             logger.warn("Hero section not found with current selectors, page may have loaded anyway");
         }
-        logger.info("Home page loaded successfully");
+        recordPageReady();
         return this;
     }
     
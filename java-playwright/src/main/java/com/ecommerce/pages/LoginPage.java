@@ -1,5 +1,6 @@
 package com.ecommerce.pages;
 
+import com.ecommerce.config.UserRole;
 import com.microsoft.playwright.Page;
 import io.qameta.allure.Step;
 
@@ -21,12 +22,6 @@ public class LoginPage extends BasePage {
     private static final String FORGOT_PASSWORD_LINK = "[data-testid='forgot-password-link']";
     private static final String LOGIN_FORM = "[data-testid='login-form']";
     
-    // Test user credentials
-    private static final String ADMIN_EMAIL = "admin@ecommerce.com";
-    private static final String ADMIN_PASSWORD = "admin123";
-    private static final String TEST_USER_EMAIL = "user@test.com";
-    private static final String TEST_USER_PASSWORD = "user123";
-    
     public LoginPage(Page page) {
         super(page);
     }
@@ -46,6 +41,7 @@ public class LoginPage extends BasePage {
         waitForElementVisible(PASSWORD_INPUT);
         waitForElementVisible(LOGIN_BUTTON);
         logger.info("Login form loaded successfully");
+        recordPageReady();
         return this;
     }
     
@@ -105,12 +101,17 @@ public class LoginPage extends BasePage {
     
     @Step("Login as admin user")
     public LoginPage loginAsAdmin() {
-        return login(ADMIN_EMAIL, ADMIN_PASSWORD);
+        return loginAs(UserRole.ADMIN);
     }
     
     @Step("Login as test user")
     public LoginPage loginAsTestUser() {
-        return login(TEST_USER_EMAIL, TEST_USER_PASSWORD);
+        return loginAs(UserRole.TEST_USER);
+    }
+    
+    @Step("Login as {role}")
+    public LoginPage loginAs(UserRole role) {
+        return login(role.getEmail(), role.getPassword());
     }
     
     @Step("Attempt login with invalid credentials")
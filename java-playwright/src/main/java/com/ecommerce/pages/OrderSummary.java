@@ -0,0 +1,205 @@
+package com.ecommerce.pages;
+
+import com.ecommerce.utils.LatencyStats;
+import com.ecommerce.utils.Money;
+import com.ecommerce.utils.PriceParser;
+import com.microsoft.playwright.Page;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable snapshot of an order: line items plus subtotal, tax, shipping and total.
+ * The cart and checkout pages capture it with a single in-page evaluation, so a whole
+ * reconciliation costs one browser round trip instead of one per value.
+ */
+public final class OrderSummary {
+
+    // Reads every line item and summary value; selectors are passed in by the page object
+    private static final String SNAPSHOT_SCRIPT =
+            "s => {" +
+            "  const text = (root, selector) => {" +
+            "    const el = selector && root.querySelector(selector);" +
+            "    if (!el) return null;" +
+            "    return el.tagName === 'INPUT' || el.tagName === 'SELECT' ? el.value : el.textContent.trim();" +
+            "  };" +
+            "  return {" +
+            "    items: Array.from(document.querySelectorAll(s.item)).map(item => ({" +
+            "      name: text(item, s.name)," +
+            "      price: text(item, s.price)," +
+            "      quantity: text(item, s.quantity)," +
+            "      lineTotal: text(item, s.lineTotal)" +
+            "    }))," +
+            "    subtotal: text(document, s.subtotal)," +
+            "    tax: text(document, s.tax)," +
+            "    shipping: text(document, s.shipping)," +
+            "    total: text(document, s.total)" +
+            "  };" +
+            "}";
+
+    private final List<LineItem> items;
+    private final Money subtotal;
+    private final Money tax;
+    private final Money shipping;
+    private final Money total;
+
+    public OrderSummary(List<LineItem> items, Money subtotal, Money tax, Money shipping, Money total) {
+        this.items = Collections.unmodifiableList(new ArrayList<>(items));
+        this.subtotal = subtotal;
+        this.tax = tax;
+        this.shipping = shipping;
+        this.total = total;
+    }
+
+    /**
+     * Capture the summary in one evaluation. Selector keys: item, name, price, quantity and
+     * lineTotal (relative to an item), subtotal, tax, shipping and total (relative to the document).
+     */
+    static OrderSummary capture(Page page, Map<String, String> selectors) {
+        long start = System.nanoTime();
+        Map<?, ?> snapshot = (Map<?, ?>) page.evaluate(SNAPSHOT_SCRIPT, selectors);
+
+        List<LineItem> items = new ArrayList<>();
+        for (Object rawItem : (List<?>) snapshot.get("items")) {
+            Map<?, ?> item = (Map<?, ?>) rawItem;
+            BigDecimal quantity = PriceParser.parseAmount(text(item.get("quantity")));
+            Object lineTotal = item.get("lineTotal");
+            items.add(new LineItem(
+                    text(item.get("name")),
+                    PriceParser.parseOrDefault(text(item.get("price")), null),
+                    quantity == null ? null : quantity.intValue(),
+                    lineTotal == null ? null : PriceParser.parseOrDefault(text(lineTotal), null)));
+        }
+        OrderSummary summary = new OrderSummary(items,
+                money(snapshot.get("subtotal")),
+                money(snapshot.get("tax")),
+                money(snapshot.get("shipping")),
+                money(snapshot.get("total")));
+        LatencyStats.named("order summary snapshot").record(System.nanoTime() - start);
+        return summary;
+    }
+
+    public List<LineItem> getItems() {
+        return items;
+    }
+
+    /**
+     * Summary values are null when the page does not show them
+     */
+    public Money getSubtotal() {
+        return subtotal;
+    }
+
+    public Money getTax() {
+        return tax;
+    }
+
+    public Money getShipping() {
+        return shipping;
+    }
+
+    public Money getTotal() {
+        return total;
+    }
+
+    /**
+     * Check line totals, the subtotal and the total against each other
+     *
+     * @return a description of every mismatch; empty when the order adds up
+     */
+    public List<String> reconcile() {
+        List<String> problems = new ArrayList<>();
+        Money itemsSum = Money.ZERO;
+        boolean allItemsPriced = true;
+        for (LineItem item : items) {
+            if (item.getUnitPrice() == null || item.getQuantity() == null) {
+                problems.add("No " + (item.getUnitPrice() == null ? "price" : "quantity") + " for item '" + item.getName() + "'");
+                allItemsPriced = false;
+                continue;
+            }
+            Money expectedLine = item.getUnitPrice().times(item.getQuantity());
+            if (item.getLineTotal() != null && !item.getLineTotal().isSameAmount(expectedLine)) {
+                problems.add("Item '" + item.getName() + "': " + item.getQuantity() + " x " + item.getUnitPrice()
+                        + " = " + expectedLine + ", page shows " + item.getLineTotal());
+            }
+            itemsSum = itemsSum.plus(expectedLine);
+        }
+        if (subtotal == null || total == null) {
+            problems.add("Subtotal or total missing from the page");
+            return problems;
+        }
+        if (allItemsPriced && !items.isEmpty() && !subtotal.isSameAmount(itemsSum)) {
+            problems.add("Items add up to " + itemsSum + ", subtotal shows " + subtotal);
+        }
+        Money expectedTotal = subtotal.plus(orZero(tax)).plus(orZero(shipping));
+        if (!total.isSameAmount(expectedTotal)) {
+            problems.add("Subtotal + tax + shipping = " + expectedTotal + ", total shows " + total);
+        }
+        return problems;
+    }
+
+    private static Money orZero(Money value) {
+        return value == null ? Money.ZERO : value;
+    }
+
+    private static Money money(Object text) {
+        return text == null ? null : PriceParser.parseOrDefault(text(text), null);
+    }
+
+    private static String text(Object value) {
+        return value == null ? "" : value.toString().trim();
+    }
+
+    @Override
+    public String toString() {
+        return "OrderSummary{items=" + items + ", subtotal=" + subtotal + ", tax=" + tax
+                + ", shipping=" + shipping + ", total=" + total + "}";
+    }
+
+    /**
+     * One line of the order
+     */
+    public static final class LineItem {
+        private final String name;
+        private final Money unitPrice;
+        private final Integer quantity;
+        private final Money lineTotal;
+
+        public LineItem(String name, Money unitPrice, Integer quantity, Money lineTotal) {
+            this.name = name;
+            this.unitPrice = unitPrice;
+            this.quantity = quantity;
+            this.lineTotal = lineTotal;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Money getUnitPrice() {
+            return unitPrice;
+        }
+
+        /**
+         * Quantity shown on the page, or null when the page shows none or it is not a number
+         */
+        public Integer getQuantity() {
+            return quantity;
+        }
+
+        /**
+         * Line total shown on the page, or null when the page shows none
+         */
+        public Money getLineTotal() {
+            return lineTotal;
+        }
+
+        @Override
+        public String toString() {
+            return quantity + " x '" + name + "' @ " + unitPrice;
+        }
+    }
+}
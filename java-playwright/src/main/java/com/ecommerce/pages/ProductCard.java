@@ -0,0 +1,107 @@
+package com.ecommerce.pages;
+
+import com.ecommerce.utils.Money;
+import com.ecommerce.utils.PriceParser;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Immutable snapshot of one product card in the products grid, as read by
+ * {@link ProductsPage#getProductGrid()}.
+ */
+public final class ProductCard {
+
+    private final int index;
+    private final String name;
+    private final String priceText;
+    private final Money price;
+    private final Double rating;
+    private final boolean available;
+
+    public ProductCard(int index, String name, String priceText, Money price, Double rating, boolean available) {
+        this.index = index;
+        this.name = name;
+        this.priceText = priceText;
+        this.price = price;
+        this.rating = rating;
+        this.available = available;
+    }
+
+    /**
+     * Build a card from one entry of the in-page grid extraction
+     */
+    static ProductCard fromSnapshot(Map<?, ?> card) {
+        int index = ((Number) card.get("index")).intValue();
+        String priceText = text(card.get("price"));
+        BigDecimal rating = PriceParser.parseAmount(text(card.get("rating")));
+        return new ProductCard(
+                index,
+                text(card.get("name")),
+                priceText,
+                PriceParser.parseOrDefault(priceText, Money.ZERO),
+                rating == null ? null : rating.doubleValue(),
+                Boolean.TRUE.equals(card.get("available")));
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Price as displayed on the card, e.g. "$19.99"
+     */
+    public String getPriceText() {
+        return priceText;
+    }
+
+    public Money getPrice() {
+        return price;
+    }
+
+    /**
+     * Numeric rating, or null when the card shows none
+     */
+    public Double getRating() {
+        return rating;
+    }
+
+    /**
+     * Whether the product can be added to the cart
+     */
+    public boolean isAvailable() {
+        return available;
+    }
+
+    private static String text(Object value) {
+        return value == null ? "" : value.toString().trim();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ProductCard)) {
+            return false;
+        }
+        ProductCard that = (ProductCard) o;
+        return index == that.index && available == that.available && price.equals(that.price)
+                && name.equals(that.name) && priceText.equals(that.priceText) && Objects.equals(rating, that.rating);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(index, name, priceText, price, rating, available);
+    }
+
+    @Override
+    public String toString() {
+        return "ProductCard{" + index + ", '" + name + "', " + priceText + ", rating=" + rating + ", available=" + available + "}";
+    }
+}
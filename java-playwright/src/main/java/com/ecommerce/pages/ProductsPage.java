@@ -1,8 +1,13 @@
 package com.ecommerce.pages;
 
+import com.ecommerce.utils.LatencyStats;
 import com.microsoft.playwright.Page;
 import io.qameta.allure.Step;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 
 /**
  * Products page object containing all elements and actions for the products listing page.
@@ -13,6 +18,9 @@ public class ProductsPage extends BasePage {
     // Page URL
     private static final String PRODUCTS_URL = "/products";
     
+    // API called by the page; searching always fetches a new product list
+    private static final String PRODUCTS_API = "/api/products";
+    
     // Page elements
     private static final String PRODUCTS_CONTAINER = "[data-testid='products-container']";
     private static final String PAGE_TITLE = "[data-testid='page-title']";
@@ -51,6 +59,20 @@ public class ProductsPage extends BasePage {
     // No results
     private static final String NO_RESULTS_MESSAGE = "[data-testid='no-results-message']";
     
+    // Reads every card in the grid inside the page, so the whole grid costs one protocol round trip
+    private static final String GRID_SNAPSHOT_SCRIPT =
+            "(cards, s) => cards.map((card, index) => {" +
+            "  const text = selector => { const el = card.querySelector(selector); return el ? el.textContent.trim() : ''; };" +
+            "  const button = card.querySelector(s.addToCart);" +
+            "  return {" +
+            "    index: index," +
+            "    name: text(s.name)," +
+            "    price: text(s.price)," +
+            "    rating: text(s.rating)," +
+            "    available: !!button && !button.disabled && button.getAttribute('aria-disabled') !== 'true'" +
+            "  };" +
+            "})";
+    
     public ProductsPage(Page page) {
         super(page);
     }
@@ -59,18 +81,25 @@ public class ProductsPage extends BasePage {
     @Step("Navigate to products page")
     public ProductsPage navigate() {
         navigateTo(PRODUCTS_URL);
-        waitForProductsPageToLoad();
+        waitForProducts(false);
         return this;
     }
     
     @Step("Wait for products page to load")
     public ProductsPage waitForProductsPageToLoad() {
+        return waitForProducts(true);
+    }
+    
+    // settle is false when the caller has just waited for the page to settle, e.g. navigateTo
+    private ProductsPage waitForProducts(boolean settle) {
         waitForElementVisible(PRODUCTS_CONTAINER);
-        // Wait for loading spinner to disappear if present
-        if (isElementVisible(LOADING_SPINNER)) {
-            waitForElementHidden(LOADING_SPINNER);
+        // Hidden also matches a spinner that is not in the DOM, so there is no check-then-wait race
+        waitForElementHidden(LOADING_SPINNER, LONG_TIMEOUT);
+        if (settle) {
+            waitForPageSettled();
         }
         logger.info("Products page loaded successfully");
+        recordPageReady();
         return this;
     }
     
@@ -78,8 +107,8 @@ public class ProductsPage extends BasePage {
     @Step("Search for products: {searchTerm}")
     public ProductsPage searchProducts(String searchTerm) {
         fillInput(SEARCH_INPUT, searchTerm);
-        clickElement(SEARCH_BUTTON);
-        waitForProductsPageToLoad();
+        performAndSettle(() -> clickElement(SEARCH_BUTTON), PRODUCTS_API);
+        waitForProducts(false);
         logger.info("Searched for products: {}", searchTerm);
         return this;
     }
@@ -214,6 +243,28 @@ public class ProductsPage extends BasePage {
         return getText(productSelector);
     }
     
+    /**
+     * Snapshot of every product card (name, price, rating, availability) taken in a single in-page evaluation
+     */
+    @Step("Get product grid snapshot")
+    public List<ProductCard> getProductGrid() {
+        long start = System.nanoTime();
+        Map<String, String> selectors = Map.of(
+                "name", PRODUCT_NAME,
+                "price", PRODUCT_PRICE,
+                "rating", PRODUCT_RATING,
+                "addToCart", ADD_TO_CART_BUTTON);
+        List<?> rawCards = (List<?>) page.locator(PRODUCT_CARD).evaluateAll(GRID_SNAPSHOT_SCRIPT, selectors);
+        
+        List<ProductCard> cards = new ArrayList<>(rawCards.size());
+        for (Object rawCard : rawCards) {
+            cards.add(ProductCard.fromSnapshot((Map<?, ?>) rawCard));
+        }
+        LatencyStats.named("product grid snapshot").record(System.nanoTime() - start);
+        logger.info("Read {} product cards in 1 round trip in {}ms", cards.size(), (System.nanoTime() - start) / 1_000_000);
+        return Collections.unmodifiableList(cards);
+    }
+    
     @Step("Check if no results message is displayed")
     public boolean isNoResultsMessageDisplayed() {
         return isElementVisible(NO_RESULTS_MESSAGE);
@@ -258,14 +309,12 @@ public class ProductsPage extends BasePage {
     
     @Step("Verify search results contain term: {searchTerm}")
     public boolean searchResultsContainTerm(String searchTerm) {
-        int productCount = getProductCount();
-        if (productCount == 0) {
-            return false;
-        }
+        List<ProductCard> cards = getProductGrid();
+        int checked = Math.min(cards.size(), 5); // Check first 5 products
         
-        for (int i = 0; i < Math.min(productCount, 5); i++) { // Check first 5 products
-            String productName = getProductName(i).toLowerCase();
-            if (productName.contains(searchTerm.toLowerCase())) {
+        String term = searchTerm.toLowerCase();
+        for (ProductCard card : cards.subList(0, checked)) {
+            if (card.getName().toLowerCase().contains(term)) {
                 return true;
             }
         }
@@ -274,29 +323,14 @@ public class ProductsPage extends BasePage {
     
     @Step("Verify products are sorted by price ascending")
     public boolean areProductsSortedByPriceAscending() {
-        int productCount = getProductCount();
-        if (productCount < 2) {
-            return true; // Cannot verify sorting with less than 2 products
-        }
+        List<ProductCard> cards = getProductGrid();
         
-        for (int i = 0; i < productCount - 1; i++) {
-            double currentPrice = extractPriceValue(getProductPrice(i));
-            double nextPrice = extractPriceValue(getProductPrice(i + 1));
-            if (currentPrice > nextPrice) {
+        for (int i = 0; i < cards.size() - 1; i++) {
+            if (cards.get(i).getPrice().compareTo(cards.get(i + 1).getPrice()) > 0) {
+                logger.info("Products not sorted by price: {} before {}", cards.get(i), cards.get(i + 1));
                 return false;
             }
         }
-        return true;
-    }
-    
-    private double extractPriceValue(String priceText) {
-        try {
-            // Remove currency symbols and extract numeric value
-            String numericPrice = priceText.replaceAll("[^0-9.]", "");
-            return Double.parseDouble(numericPrice);
-        } catch (NumberFormatException e) {
-            logger.warn("Could not parse price: {}", priceText);
-            return 0.0;
-        }
+        return true; // Fewer than 2 products are trivially sorted
     }
 }
@@ -0,0 +1,67 @@
+package com.ecommerce.pages;
+
+/**
+ * A named in-page condition for {@link BasePage#raceFor(int, RaceCondition...)}.
+ * All conditions of a race are checked together inside the page, so the race costs one wait
+ * no matter how many alternatives it has.
+ */
+public final class RaceCondition {
+
+    private final String name;
+    private final String expression;
+
+    private RaceCondition(String name, String expression) {
+        this.name = name;
+        this.expression = expression;
+    }
+
+    /**
+     * An element matching the CSS selector is rendered and not hidden
+     */
+    public static RaceCondition visible(String cssSelector) {
+        return new RaceCondition("visible " + cssSelector,
+                "(() => { const el = document.querySelector(" + quote(cssSelector) + ");"
+                        + " return !!el && el.getClientRects().length > 0"
+                        + " && getComputedStyle(el).visibility !== 'hidden'; })()");
+    }
+
+    /**
+     * The current URL contains the fragment
+     */
+    public static RaceCondition urlContains(String fragment) {
+        return new RaceCondition("url contains " + fragment, "location.href.includes(" + quote(fragment) + ")");
+    }
+
+    /**
+     * The document finished loading and contains an element matching the CSS selector. Put it last
+     * in a race as the terminal candidate that ends the wait when none of the optional ones shows up.
+     */
+    public static RaceCondition loadedWith(String cssSelector) {
+        return new RaceCondition("loaded with " + cssSelector,
+                "document.readyState === 'complete' && !!document.querySelector(" + quote(cssSelector) + ")");
+    }
+
+    /**
+     * Any JavaScript expression that becomes truthy
+     */
+    public static RaceCondition script(String name, String expression) {
+        return new RaceCondition(name, expression);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    String getExpression() {
+        return expression;
+    }
+
+    private static String quote(String value) {
+        return "'" + value.replace("\\", "\\\\").replace("'", "\\'") + "'";
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,269 @@
+package com.ecommerce.utils;
+
+import com.ecommerce.config.TestConfig;
+import com.ecommerce.config.UserRole;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.playwright.APIResponse;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.options.Cookie;
+import com.microsoft.playwright.options.RequestOptions;
+import com.microsoft.playwright.options.SameSiteAttribute;
+import org.aeonbits.owner.ConfigFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Logs in once per role and keeps the resulting Playwright storage state (cookies and local
+ * storage) in {@code auth.state.dir}, so tests start authenticated instead of driving the login form.
+ *
+ * A state is refreshed when it is older than {@code auth.state.ttl.minutes} or one of its cookies
+ * is about to expire. Logins are serialized per role by a lock inside the JVM and a file lock
+ * across JVMs, so parallel workers and forks log in once and then share the file. The login goes
+ * through the login form, or with {@code auth.state.source=api} straight to the API.
+ */
+public final class AuthStateCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(AuthStateCache.class);
+    private static final TestConfig config = ConfigFactory.create(TestConfig.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Map<UserRole, ReentrantLock> LOCKS = new ConcurrentHashMap<>();
+
+    // Tokens seeded into a context whose page has not loaded since, so its local storage does not hold them yet
+    private static final Map<BrowserContext, String> PENDING_TOKENS = Collections.synchronizedMap(new WeakHashMap<>());
+
+    // Cookies must stay valid at least this long after the state is handed out
+    private static final Duration EXPIRY_MARGIN = Duration.ofMinutes(1);
+
+    // Puts the stored local storage back once per tab, so a logout in the test is not undone by the next navigation
+    private static final String SEED_STORAGE_SCRIPT =
+            "(origins => {" +
+            "  const entry = origins.find(o => o.origin === location.origin);" +
+            "  if (!entry || sessionStorage.getItem('__authSeeded')) return;" +
+            "  entry.localStorage.forEach(item => localStorage.setItem(item.name, item.value));" +
+            "  sessionStorage.setItem('__authSeeded', '1');" +
+            "})";
+
+    private AuthStateCache() {
+    }
+
+    /**
+     * Storage state file for the role, logging in first if there is no valid one
+     *
+     * @param optionsFactory options for the context used to log in
+     * @param uiLogin        logs the role in on a fresh page through the login form
+     */
+    public static Path obtain(Browser browser, UserRole role, Supplier<Browser.NewContextOptions> optionsFactory,
+                              BiConsumer<Page, UserRole> uiLogin) {
+        Path stateFile = stateFile(role);
+        if (isValid(stateFile)) {
+            return stateFile;
+        }
+
+        ReentrantLock lock = LOCKS.computeIfAbsent(role, key -> new ReentrantLock());
+        lock.lock();
+        try (FileChannel channel = FileChannel.open(lockFile(role), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+             FileLock ignored = channel.lock()) {
+            // Another worker may have logged in while this one waited
+            if (!isValid(stateFile)) {
+                long start = System.nanoTime();
+                login(browser, role, optionsFactory, uiLogin, stateFile);
+                LatencyStats.named("auth state login (" + config.authStateSource() + ")").record(System.nanoTime() - start);
+                logger.info("Stored {} session in {} in {}ms", role.key(), stateFile, (System.nanoTime() - start) / 1_000_000);
+            }
+            return stateFile;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to lock auth state for " + role.key(), e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Put a stored session into an existing context, e.g. a pooled one. Cookies are added right
+     * away; local storage is restored on the page's next navigation, and until then
+     * {@link #sessionToken} answers from the stored state.
+     */
+    public static void seed(BrowserContext context, Page page, Path stateFile) {
+        try {
+            JsonNode state = MAPPER.readTree(stateFile.toFile());
+            List<Cookie> cookies = new ArrayList<>();
+            for (JsonNode node : state.path("cookies")) {
+                Cookie cookie = new Cookie(node.path("name").asText(), node.path("value").asText())
+                        .setDomain(node.path("domain").asText())
+                        .setPath(node.path("path").asText("/"))
+                        .setHttpOnly(node.path("httpOnly").asBoolean())
+                        .setSecure(node.path("secure").asBoolean());
+                if (node.path("expires").asDouble(-1) > 0) {
+                    cookie.setExpires(node.path("expires").asDouble());
+                }
+                if (node.hasNonNull("sameSite")) {
+                    cookie.setSameSite(SameSiteAttribute.valueOf(node.path("sameSite").asText().toUpperCase()));
+                }
+                cookies.add(cookie);
+            }
+            if (!cookies.isEmpty()) {
+                context.addCookies(cookies);
+            }
+            if (state.path("origins").size() > 0) {
+                page.addInitScript(SEED_STORAGE_SCRIPT + "(" + MAPPER.writeValueAsString(state.path("origins")) + ")");
+            }
+            String token = tokenIn(state);
+            if (token != null) {
+                PENDING_TOKENS.put(context, token);
+                page.onLoad(loaded -> PENDING_TOKENS.remove(context, token));
+                page.onClose(closed -> PENDING_TOKENS.remove(context, token));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read auth state " + stateFile, e);
+        }
+    }
+
+    /**
+     * The session token under {@code auth.token.key} the context's requests should carry: the one
+     * {@link #seed} put in and the page has not loaded yet, otherwise the one in its local storage.
+     *
+     * @return the token, or null when the session is cookie-only
+     */
+    public static String sessionToken(BrowserContext context) {
+        String pending = PENDING_TOKENS.get(context);
+        if (pending != null) {
+            return pending;
+        }
+        try {
+            return tokenIn(MAPPER.readTree(context.storageState()));
+        } catch (IOException e) {
+            logger.warn("Could not read the context's storage state: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Drop the stored session so the next {@link #obtain} logs in again, e.g. after the server rejected it
+     */
+    public static void invalidate(UserRole role) {
+        try {
+            Files.deleteIfExists(stateFile(role));
+        } catch (IOException e) {
+            logger.warn("Could not delete auth state for {}: {}", role.key(), e.getMessage());
+        }
+    }
+
+    private static void login(Browser browser, UserRole role, Supplier<Browser.NewContextOptions> optionsFactory,
+                              BiConsumer<Page, UserRole> uiLogin, Path stateFile) throws IOException {
+        Path tempFile = stateFile.resolveSibling(stateFile.getFileName() + ".tmp");
+        BrowserContext context = browser.newContext(optionsFactory.get());
+        try {
+            if ("api".equalsIgnoreCase(config.authStateSource())) {
+                apiLogin(context, role);
+            } else {
+                uiLogin.accept(context.newPage(), role);
+            }
+            context.storageState(new BrowserContext.StorageStateOptions().setPath(tempFile));
+        } finally {
+            context.close();
+        }
+        // Readers only ever see a complete file
+        Files.move(tempFile, stateFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Cookies set by the API land in the context; a token in the response body goes to local storage
+    private static void apiLogin(BrowserContext context, UserRole role) throws IOException {
+        APIResponse response = context.request().post(config.apiUrl() + config.authLoginPath(),
+                RequestOptions.create().setData(Map.of("email", role.getEmail(), "password", role.getPassword())));
+        try {
+            if (!response.ok()) {
+                throw new IllegalStateException("API login for " + role.key() + " failed: "
+                        + response.status() + " " + response.statusText());
+            }
+            JsonNode body = MAPPER.readTree(response.body());
+            String token = body.path("token").asText(null);
+            if (token != null && !config.authTokenKey().isEmpty()) {
+                Page page = context.newPage();
+                page.navigate(config.baseUrl());
+                page.evaluate("([key, value]) => localStorage.setItem(key, value)", List.of(config.authTokenKey(), token));
+            }
+        } finally {
+            response.dispose();
+        }
+    }
+
+    private static String tokenIn(JsonNode state) {
+        String key = config.authTokenKey();
+        if (key.isEmpty()) {
+            return null;
+        }
+        for (JsonNode origin : state.path("origins")) {
+            for (JsonNode item : origin.path("localStorage")) {
+                if (key.equals(item.path("name").asText())) {
+                    return item.path("value").asText();
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean isValid(Path stateFile) {
+        try {
+            if (!Files.isRegularFile(stateFile)) {
+                return false;
+            }
+            Instant written = Files.getLastModifiedTime(stateFile).toInstant();
+            if (written.plus(Duration.ofMinutes(config.authStateTtlMinutes())).isBefore(Instant.now())) {
+                return false;
+            }
+            double deadline = Instant.now().plus(EXPIRY_MARGIN).getEpochSecond();
+            for (JsonNode cookie : MAPPER.readTree(stateFile.toFile()).path("cookies")) {
+                double expires = cookie.path("expires").asDouble(-1);
+                if (expires > 0 && expires < deadline) {
+                    return false;
+                }
+            }
+            return true;
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable auth state {}: {}", stateFile, e.getMessage());
+            return false;
+        }
+    }
+
+    private static Path stateFile(UserRole role) {
+        return directory().resolve(role.key() + ".json");
+    }
+
+    private static Path lockFile(UserRole role) {
+        return directory().resolve(role.key() + ".lock");
+    }
+
+    private static Path directory() {
+        Path dir = Paths.get(config.authStateDir());
+        try {
+            Files.createDirectories(dir);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to create auth state directory " + dir, e);
+        }
+        return dir;
+    }
+}
@@ -0,0 +1,261 @@
+package com.ecommerce.utils;
+
+import com.ecommerce.config.TestConfig;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Playwright;
+import org.aeonbits.owner.ConfigFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * JVM-wide pool of launched browsers keyed by {@link BrowserSpec}.
+ * Browsers are handed out as leases and returned to the pool when the lease is closed,
+ * so test classes share one browser launch instead of starting their own.
+ * An idle browser is handed back preferentially to the thread that used it last.
+ * Every pooled browser owns its Playwright instance; all of them are closed at JVM shutdown.
+ */
+public final class BrowserPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(BrowserPool.class);
+    private static final TestConfig config = ConfigFactory.create(TestConfig.class);
+    private static final BrowserPool INSTANCE = new BrowserPool(
+            Math.max(config.browserPoolMaxPerKey(), Integer.getInteger("test.threads", 1)),
+            config.browserPoolLeaseTimeout());
+
+    // Id of the browser each thread used last, so a worker thread keeps getting its own browser back.
+    // Only the id is kept: a reference would keep a discarded browser and its Playwright reachable.
+    private static final ThreadLocal<Map<BrowserSpec, Integer>> LAST_USED = ThreadLocal.withInitial(HashMap::new);
+
+    private final int maxPerKey;
+    private final long leaseTimeoutMillis;
+    private final Map<BrowserSpec, Deque<PooledBrowser>> idle = new ConcurrentHashMap<>();
+    private final Map<BrowserSpec, Semaphore> permits = new ConcurrentHashMap<>();
+    private final List<PooledBrowser> all = new ArrayList<>();
+    private final BrowserPoolMetrics metrics = new BrowserPoolMetrics();
+    private final AtomicBoolean shutdown = new AtomicBoolean();
+
+    BrowserPool(int maxPerKey, long leaseTimeoutMillis) {
+        this.maxPerKey = Math.max(1, maxPerKey);
+        this.leaseTimeoutMillis = leaseTimeoutMillis;
+        Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "browser-pool-shutdown"));
+    }
+
+    public static BrowserPool getInstance() {
+        return INSTANCE;
+    }
+
+    public BrowserPoolMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Lease a browser matching the spec, reusing an idle one or launching a new one.
+     * Blocks while the maximum number of browsers for this spec is leased out.
+     */
+    public Lease acquire(BrowserSpec spec) {
+        if (shutdown.get()) {
+            throw new IllegalStateException("Browser pool has been shut down");
+        }
+        Semaphore semaphore = permits.computeIfAbsent(spec, key -> new Semaphore(maxPerKey, true));
+        long waitStart = System.nanoTime();
+        try {
+            if (!semaphore.tryAcquire(leaseTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("Timed out after " + leaseTimeoutMillis + "ms waiting for browser " + spec);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for browser " + spec, e);
+        }
+        long waited = System.nanoTime() - waitStart;
+
+        try {
+            PooledBrowser pooled = pollIdle(spec);
+            boolean reused = pooled != null;
+            if (!reused) {
+                pooled = launch(spec);
+            }
+            metrics.recordLease(reused, waited);
+            LAST_USED.get().put(spec, pooled.id);
+            logger.info("Leased {} browser {} (reused: {})", spec.getBrowserType(), pooled.id, reused);
+            return new Lease(this, pooled);
+        } catch (RuntimeException e) {
+            semaphore.release();
+            throw e;
+        }
+    }
+
+    private PooledBrowser pollIdle(BrowserSpec spec) {
+        Deque<PooledBrowser> queue = idle.computeIfAbsent(spec, key -> new ArrayDeque<>());
+        synchronized (queue) {
+            Integer preferredId = LAST_USED.get().get(spec);
+            for (Iterator<PooledBrowser> it = queue.iterator(); preferredId != null && it.hasNext(); ) {
+                PooledBrowser preferred = it.next();
+                if (preferred.id == preferredId) {
+                    it.remove();
+                    if (preferred.browser.isConnected()) {
+                        return preferred;
+                    }
+                    discard(preferred);
+                    break;
+                }
+            }
+            PooledBrowser pooled;
+            while ((pooled = queue.pollFirst()) != null) {
+                if (pooled.browser.isConnected()) {
+                    return pooled;
+                }
+                logger.warn("Discarding disconnected browser {}", pooled.id);
+                discard(pooled);
+            }
+        }
+        return null;
+    }
+
+    private PooledBrowser launch(BrowserSpec spec) {
+        long start = System.nanoTime();
+        Playwright playwright = Playwright.create();
+        try {
+            Browser browser = spec.browserTypeOf(playwright).launch(spec.toLaunchOptions());
+            long elapsed = System.nanoTime() - start;
+            metrics.recordLaunch(elapsed);
+            PooledBrowser pooled = new PooledBrowser(spec, playwright, browser);
+            synchronized (all) {
+                all.add(pooled);
+            }
+            logger.info("Launched {} browser {} in {}ms", spec.getBrowserType(), pooled.id, elapsed / 1_000_000);
+            return pooled;
+        } catch (RuntimeException e) {
+            playwright.close();
+            throw e;
+        }
+    }
+
+    private void release(PooledBrowser pooled, boolean healthy) {
+        try {
+            if (healthy && !shutdown.get() && pooled.browser.isConnected()) {
+                Deque<PooledBrowser> queue = idle.computeIfAbsent(pooled.spec, key -> new ArrayDeque<>());
+                synchronized (queue) {
+                    queue.addFirst(pooled);
+                }
+            } else {
+                discard(pooled);
+            }
+        } finally {
+            permits.get(pooled.spec).release();
+        }
+    }
+
+    private void discard(PooledBrowser pooled) {
+        LAST_USED.get().remove(pooled.spec, pooled.id);
+        metrics.recordDiscard();
+        synchronized (all) {
+            all.remove(pooled);
+        }
+        pooled.close();
+    }
+
+    /**
+     * Close every pooled browser. Registered as a shutdown hook.
+     */
+    void shutdown() {
+        if (!shutdown.compareAndSet(false, true)) {
+            return;
+        }
+        List<PooledBrowser> toClose;
+        synchronized (all) {
+            toClose = new ArrayList<>(all);
+            all.clear();
+        }
+        toClose.forEach(PooledBrowser::close);
+        logger.info("Browser pool shut down: {}", metrics);
+    }
+
+    /**
+     * A browser handed out by the pool. Closing the lease returns the browser to the pool.
+     */
+    public static final class Lease implements AutoCloseable {
+
+        private final BrowserPool pool;
+        private final PooledBrowser pooled;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Lease(BrowserPool pool, PooledBrowser pooled) {
+            this.pool = pool;
+            this.pooled = pooled;
+        }
+
+        public Playwright playwright() {
+            return pooled.playwright;
+        }
+
+        public Browser browser() {
+            return pooled.browser;
+        }
+
+        public BrowserSpec spec() {
+            return pooled.spec;
+        }
+
+        /**
+         * Return the browser to the pool
+         */
+        @Override
+        public void close() {
+            if (released.compareAndSet(false, true)) {
+                pool.release(pooled, true);
+            }
+        }
+
+        /**
+         * Close the browser instead of returning it, e.g. after it crashed
+         */
+        public void invalidate() {
+            if (released.compareAndSet(false, true)) {
+                pool.release(pooled, false);
+            }
+        }
+    }
+
+    private static final class PooledBrowser {
+
+        private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+        private final int id;
+        private final BrowserSpec spec;
+        private final Playwright playwright;
+        private final Browser browser;
+
+        private PooledBrowser(BrowserSpec spec, Playwright playwright, Browser browser) {
+            this.id = SEQUENCE.incrementAndGet();
+            this.spec = spec;
+            this.playwright = playwright;
+            this.browser = browser;
+        }
+
+        private void close() {
+            try {
+                browser.close();
+            } catch (Exception e) {
+                logger.warn("Error closing browser {}: {}", id, e.getMessage());
+            }
+            try {
+                playwright.close();
+            } catch (Exception e) {
+                logger.warn("Error closing Playwright for browser {}: {}", id, e.getMessage());
+            }
+        }
+    }
+}
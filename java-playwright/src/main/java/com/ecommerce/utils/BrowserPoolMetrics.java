@@ -0,0 +1,88 @@
+package com.ecommerce.utils;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters collected by the {@link BrowserPool}.
+ * Launch and wait times are kept in nanoseconds and reported in milliseconds.
+ */
+public final class BrowserPoolMetrics {
+
+    private final LongAdder launches = new LongAdder();
+    private final LongAdder leases = new LongAdder();
+    private final LongAdder reuses = new LongAdder();
+    private final LongAdder discarded = new LongAdder();
+    private final LongAdder launchNanos = new LongAdder();
+    private final LongAdder waitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    void recordLaunch(long nanos) {
+        launches.increment();
+        launchNanos.add(nanos);
+    }
+
+    void recordLease(boolean reused, long waitedNanos) {
+        leases.increment();
+        if (reused) {
+            reuses.increment();
+        }
+        waitNanos.add(waitedNanos);
+        maxWaitNanos.accumulateAndGet(waitedNanos, Math::max);
+    }
+
+    void recordDiscard() {
+        discarded.increment();
+    }
+
+    public long getLaunches() {
+        return launches.sum();
+    }
+
+    public long getLeases() {
+        return leases.sum();
+    }
+
+    public long getReuses() {
+        return reuses.sum();
+    }
+
+    public long getDiscarded() {
+        return discarded.sum();
+    }
+
+    public long getTotalLaunchMillis() {
+        return launchNanos.sum() / 1_000_000;
+    }
+
+    public long getTotalWaitMillis() {
+        return waitNanos.sum() / 1_000_000;
+    }
+
+    public long getMaxWaitMillis() {
+        return maxWaitNanos.get() / 1_000_000;
+    }
+
+    /**
+     * Average launch time multiplied by the number of leases served without a launch
+     */
+    public long getEstimatedSavedMillis() {
+        long launchCount = getLaunches();
+        if (launchCount == 0) {
+            return 0;
+        }
+        return getTotalLaunchMillis() / launchCount * getReuses();
+    }
+
+    @Override
+    public String toString() {
+        return "launches=" + getLaunches() +
+               ", leases=" + getLeases() +
+               ", reuses=" + getReuses() +
+               ", discarded=" + getDiscarded() +
+               ", launchTime=" + getTotalLaunchMillis() + "ms" +
+               ", waitTime=" + getTotalWaitMillis() + "ms" +
+               ", maxWait=" + getMaxWaitMillis() + "ms" +
+               ", estimatedSaved=" + getEstimatedSavedMillis() + "ms";
+    }
+}
@@ -0,0 +1,112 @@
+package com.ecommerce.utils;
+
+import com.microsoft.playwright.BrowserType;
+import com.microsoft.playwright.Playwright;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Immutable description of a browser launch.
+ * Used as the key of the {@link BrowserPool}, so two specs that would launch
+ * an identical browser are equal and share pooled instances.
+ */
+public final class BrowserSpec {
+
+    private final String browserType;
+    private final boolean headless;
+    private final double slowMo;
+    private final List<String> args;
+
+    public BrowserSpec(String browserType, boolean headless, double slowMo, List<String> args) {
+        this.browserType = normalize(browserType);
+        this.headless = headless;
+        this.slowMo = slowMo;
+        this.args = Collections.unmodifiableList(new ArrayList<>(args));
+    }
+
+    public BrowserSpec(String browserType, boolean headless, double slowMo) {
+        this(browserType, headless, slowMo, Collections.emptyList());
+    }
+
+    private static String normalize(String browserType) {
+        String type = browserType == null ? "chromium" : browserType.trim().toLowerCase();
+        switch (type) {
+            case "firefox":
+            case "webkit":
+                return type;
+            default:
+                return "chromium";
+        }
+    }
+
+    public String getBrowserType() {
+        return browserType;
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    public double getSlowMo() {
+        return slowMo;
+    }
+
+    public List<String> getArgs() {
+        return args;
+    }
+
+    /**
+     * Build Playwright launch options for this spec
+     */
+    public BrowserType.LaunchOptions toLaunchOptions() {
+        BrowserType.LaunchOptions options = new BrowserType.LaunchOptions()
+                .setHeadless(headless)
+                .setSlowMo(slowMo);
+        if (!args.isEmpty()) {
+            options.setArgs(args);
+        }
+        return options;
+    }
+
+    /**
+     * Resolve the Playwright browser type for this spec
+     */
+    public BrowserType browserTypeOf(Playwright playwright) {
+        switch (browserType) {
+            case "firefox":
+                return playwright.firefox();
+            case "webkit":
+                return playwright.webkit();
+            default:
+                return playwright.chromium();
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof BrowserSpec)) {
+            return false;
+        }
+        BrowserSpec that = (BrowserSpec) o;
+        return headless == that.headless &&
+               Double.compare(slowMo, that.slowMo) == 0 &&
+               browserType.equals(that.browserType) &&
+               args.equals(that.args);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(browserType, headless, slowMo, args);
+    }
+
+    @Override
+    public String toString() {
+        return browserType + "{headless=" + headless + ", slowMo=" + slowMo + ", args=" + args + "}";
+    }
+}
@@ -0,0 +1,110 @@
+package com.ecommerce.utils;
+
+import com.ecommerce.config.TestConfig;
+import com.microsoft.playwright.APIResponse;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.options.RequestOptions;
+import org.aeonbits.owner.ConfigFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Seeds cart contents, a promo code and shipping details through the backend API in one batched
+ * request, instead of adding items through the product pages one navigation and click at a time.
+ * The request goes through the browser context's request API, so it carries the context's
+ * session cookies, plus an {@code Authorization: Bearer} header when the context's session has a
+ * token under {@code auth.token.key} (see {@link AuthStateCache#sessionToken}); either way the
+ * seeded cart belongs to the user the test is logged in as, also on a pooled context seeded
+ * just before.
+ *
+ * Usage: {@code CartFixture.forContext(context).item("42", 2).item("7", 1).promoCode("SAVE10").seed()}
+ */
+public final class CartFixture {
+
+    private static final Logger logger = LoggerFactory.getLogger(CartFixture.class);
+    private static final TestConfig config = ConfigFactory.create(TestConfig.class);
+
+    private final BrowserContext context;
+    private final List<Map<String, Object>> items = new ArrayList<>();
+    private final Map<String, String> shipping = new LinkedHashMap<>();
+    private String promoCode;
+
+    private CartFixture(BrowserContext context) {
+        this.context = context;
+    }
+
+    public static CartFixture forContext(BrowserContext context) {
+        return new CartFixture(context);
+    }
+
+    public CartFixture item(String productId, int quantity) {
+        if (quantity < 1) {
+            throw new IllegalArgumentException("Quantity must be at least 1, got " + quantity);
+        }
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("productId", productId);
+        item.put("quantity", quantity);
+        items.add(item);
+        return this;
+    }
+
+    public CartFixture promoCode(String code) {
+        this.promoCode = code;
+        return this;
+    }
+
+    /**
+     * Shipping fields as the checkout form names them, e.g. firstName, address, city, zipCode
+     */
+    public CartFixture shipping(Map<String, String> details) {
+        shipping.putAll(details);
+        return this;
+    }
+
+    public int getItemCount() {
+        return items.size();
+    }
+
+    /**
+     * Send everything in one request to {@code api.url} + {@code fixture.cart.path}, replacing the current cart
+     *
+     * @throws IllegalStateException if the backend rejects the request
+     */
+    public void seed() {
+        long start = System.nanoTime();
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("items", items);
+        if (promoCode != null) {
+            payload.put("promoCode", promoCode);
+        }
+        if (!shipping.isEmpty()) {
+            payload.put("shipping", shipping);
+        }
+
+        String url = config.apiUrl() + config.fixtureCartPath();
+        RequestOptions options = RequestOptions.create().setData(payload);
+        String token = AuthStateCache.sessionToken(context);
+        if (token != null) {
+            options.setHeader("Authorization", "Bearer " + token);
+        }
+        APIResponse response = context.request().post(url, options);
+        try {
+            if (!response.ok()) {
+                throw new IllegalStateException("Cart fixture rejected by " + url + ": "
+                        + response.status() + " " + response.text());
+            }
+        } finally {
+            response.dispose();
+        }
+        LatencyStats.named("cart fixture seed").record(System.nanoTime() - start);
+        logger.info("Seeded cart with {} items{}{} in 1 request in {}ms", items.size(),
+                promoCode == null ? "" : ", promo " + promoCode,
+                shipping.isEmpty() ? "" : ", shipping details",
+                (System.nanoTime() - start) / 1_000_000);
+    }
+}
@@ -0,0 +1,286 @@
+package com.ecommerce.utils;
+
+import com.ecommerce.config.TestConfig;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.CDPSession;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.Route;
+import org.aeonbits.owner.ConfigFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Pool of warm browser contexts for a single browser.
+ * Contexts are created up front and, when a test releases them, wiped (pages, cookies, local
+ * and session storage, IndexedDB, Cache Storage, service workers, permissions and routes) and
+ * put back instead of being closed. A context that still has cookies or any of that storage
+ * after the reset is closed. The HTTP cache is cleared too on Chromium, but cannot be checked;
+ * on Firefox and WebKit it carries over to the next test.
+ *
+ * Playwright objects are not thread-safe, so warming and resetting run on the thread that
+ * owns the browser: once when the pool is created and afterwards during test teardown,
+ * outside the timed setup path of the next test.
+ */
+public final class ContextPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(ContextPool.class);
+    private static final TestConfig config = ConfigFactory.create(TestConfig.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final Map<Browser, ContextPool> POOLS = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    private static final String RESET_PATH = "/__context_reset__";
+    private static final String CLEAR_STORAGE_SCRIPT =
+            "async () => {" +
+            "  try { localStorage.clear(); } catch (e) {}" +
+            "  try { sessionStorage.clear(); } catch (e) {}" +
+            "  try {" +
+            "    if (indexedDB.databases) {" +
+            "      const dbs = await indexedDB.databases();" +
+            "      await Promise.all(dbs.map(db => new Promise(resolve => {" +
+            "        const request = indexedDB.deleteDatabase(db.name);" +
+            "        request.onsuccess = request.onerror = request.onblocked = () => resolve();" +
+            "      })));" +
+            "    }" +
+            "  } catch (e) {}" +
+            "  try {" +
+            "    if (self.caches) {" +
+            "      const keys = await caches.keys();" +
+            "      await Promise.all(keys.map(key => caches.delete(key)));" +
+            "    }" +
+            "  } catch (e) {}" +
+            "  try {" +
+            "    if (navigator.serviceWorker) {" +
+            "      const registrations = await navigator.serviceWorker.getRegistrations();" +
+            "      await Promise.all(registrations.map(registration => registration.unregister()));" +
+            "    }" +
+            "  } catch (e) {}" +
+            "  const left = [];" +
+            "  try { if (localStorage.length) left.push('localStorage'); } catch (e) {}" +
+            "  try { if (sessionStorage.length) left.push('sessionStorage'); } catch (e) {}" +
+            "  try { if (indexedDB.databases && (await indexedDB.databases()).length) left.push('indexedDB'); } catch (e) {}" +
+            "  try { if (self.caches && (await caches.keys()).length) left.push('caches'); } catch (e) {}" +
+            "  try {" +
+            "    if (navigator.serviceWorker && (await navigator.serviceWorker.getRegistrations()).length) {" +
+            "      left.push('serviceWorker');" +
+            "    }" +
+            "  } catch (e) {}" +
+            "  return left;" +
+            "}";
+
+    private final Browser browser;
+    private final Supplier<Browser.NewContextOptions> optionsFactory;
+    private final int warmSize;
+    private final Deque<PooledContext> idle = new ArrayDeque<>();
+
+    private ContextPool(Browser browser, Supplier<Browser.NewContextOptions> optionsFactory, int warmSize) {
+        this.browser = browser;
+        this.optionsFactory = optionsFactory;
+        this.warmSize = Math.max(0, warmSize);
+        // A closed browser's pool is never used again; let it and its contexts be collected
+        browser.onDisconnected(disconnected -> POOLS.remove(disconnected));
+        warmUp();
+    }
+
+    /**
+     * Get the context pool bound to the given browser, creating and warming it on first use
+     */
+    public static ContextPool forBrowser(Browser browser, Supplier<Browser.NewContextOptions> optionsFactory) {
+        synchronized (POOLS) {
+            return POOLS.computeIfAbsent(browser, key -> new ContextPool(key, optionsFactory, config.contextPoolWarmSize()));
+        }
+    }
+
+    /**
+     * Take a clean context from the pool and open a fresh page in it
+     */
+    public synchronized PooledContext acquire() {
+        PooledContext pooled = idle.pollFirst();
+        if (pooled == null) {
+            pooled = create();
+        }
+        pooled.open();
+        return pooled;
+    }
+
+    /**
+     * Reset the context and return it to the pool, or close it if it cannot be made clean
+     */
+    public synchronized void release(PooledContext pooled, boolean reusable) {
+        long start = System.nanoTime();
+        boolean clean = reusable && browser.isConnected() && reset(pooled);
+        if (clean) {
+            idle.addFirst(pooled);
+        } else {
+            pooled.close();
+        }
+        LatencyStats.named("context reset").record(System.nanoTime() - start);
+        warmUp();
+    }
+
+    private void warmUp() {
+        while (idle.size() < warmSize && browser.isConnected()) {
+            idle.addLast(create());
+        }
+    }
+
+    private PooledContext create() {
+        return new PooledContext(browser.newContext(optionsFactory.get()));
+    }
+
+    private boolean reset(PooledContext pooled) {
+        BrowserContext context = pooled.context;
+        try {
+            Set<String> origins = new LinkedHashSet<>(pooled.visitedOrigins);
+            origins.addAll(originsWithStorage(context.storageState()));
+
+            for (Page openPage : new ArrayList<>(context.pages())) {
+                openPage.close();
+            }
+            pooled.removeRoutes();
+            context.clearCookies();
+            context.clearPermissions();
+            context.setOffline(false);
+            context.setExtraHTTPHeaders(Collections.emptyMap());
+            Set<String> leftovers = origins.isEmpty() ? Collections.emptySet() : clearStorage(context, origins);
+            pooled.visitedOrigins.clear();
+
+            String state = context.storageState();
+            JsonNode stateJson = MAPPER.readTree(state);
+            boolean clean = stateJson.path("cookies").size() == 0 && originsWithStorage(state).isEmpty()
+                    && leftovers.isEmpty();
+            if (!clean) {
+                logger.warn("Context still has state after reset, discarding it: {} {}", leftovers, state);
+            }
+            return clean;
+        } catch (Exception e) {
+            logger.warn("Failed to reset pooled context, discarding it: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    // Clears every origin's storage and returns what is still there, as "origin: kind" entries
+    private Set<String> clearStorage(BrowserContext context, Set<String> origins) {
+        Set<String> leftovers = new LinkedHashSet<>();
+        Page resetPage = context.newPage();
+        Consumer<Route> blankDocument = route -> route.fulfill(new Route.FulfillOptions()
+                .setStatus(200)
+                .setContentType("text/html")
+                .setBody("<html></html>"));
+        try {
+            for (String origin : origins) {
+                String resetUrl = origin + RESET_PATH;
+                resetPage.route(resetUrl, blankDocument);
+                resetPage.navigate(resetUrl);
+                for (Object kind : (List<?>) resetPage.evaluate(CLEAR_STORAGE_SCRIPT)) {
+                    leftovers.add(origin + ": " + kind);
+                }
+                resetPage.unroute(resetUrl, blankDocument);
+            }
+            if ("chromium".equals(browser.browserType().name())) {
+                CDPSession session = context.newCDPSession(resetPage);
+                try {
+                    session.send("Network.clearBrowserCache");
+                } finally {
+                    session.detach();
+                }
+            }
+        } finally {
+            resetPage.close();
+        }
+        return leftovers;
+    }
+
+    private static Set<String> originsWithStorage(String storageState) {
+        Set<String> origins = new LinkedHashSet<>();
+        try {
+            for (JsonNode origin : MAPPER.readTree(storageState).path("origins")) {
+                if (origin.path("localStorage").size() > 0) {
+                    origins.add(origin.path("origin").asText());
+                }
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to parse storage state", e);
+        }
+        return origins;
+    }
+
+    /**
+     * A pooled browser context together with the page opened for the current test.
+     * Routes must be registered through {@link #route(String, Consumer)} so the reset can remove them.
+     */
+    public static final class PooledContext {
+
+        private final BrowserContext context;
+        private final Set<String> visitedOrigins = Collections.synchronizedSet(new LinkedHashSet<>());
+        private final List<Map.Entry<String, Consumer<Route>>> routes = new ArrayList<>();
+        private Page page;
+
+        private PooledContext(BrowserContext context) {
+            this.context = context;
+            context.onPage(newPage -> newPage.onFrameNavigated(frame -> {
+                String origin = originOf(frame.url());
+                if (origin != null) {
+                    visitedOrigins.add(origin);
+                }
+            }));
+        }
+
+        public BrowserContext context() {
+            return context;
+        }
+
+        public Page page() {
+            return page;
+        }
+
+        /**
+         * Register a context route that is removed again when the context goes back to the pool
+         */
+        public void route(String url, Consumer<Route> handler) {
+            context.route(url, handler);
+            routes.add(Map.entry(url, handler));
+        }
+
+        private void open() {
+            page = context.newPage();
+        }
+
+        private void removeRoutes() {
+            for (Map.Entry<String, Consumer<Route>> route : routes) {
+                context.unroute(route.getKey(), route.getValue());
+            }
+            routes.clear();
+        }
+
+        private void close() {
+            try {
+                context.close();
+            } catch (Exception e) {
+                logger.warn("Error closing pooled context: {}", e.getMessage());
+            }
+        }
+
+        private static String originOf(String url) {
+            if (url == null || !(url.startsWith("http://") || url.startsWith("https://"))) {
+                return null;
+            }
+            int pathStart = url.indexOf('/', url.indexOf("//") + 2);
+            return pathStart < 0 ? url : url.substring(0, pathStart);
+        }
+    }
+}
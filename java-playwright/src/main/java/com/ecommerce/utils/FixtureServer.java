@@ -0,0 +1,434 @@
+package com.ecommerce.utils;
+
+import com.ecommerce.config.UserRole;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-JVM stand-in for the application under test: serves the static pages under
+ * {@code fixtures/} on the classpath and an in-memory fake of the products, cart and login API
+ * under {@code /api}. Every instance binds an ephemeral loopback port, so parallel forks each
+ * get their own server and never share carts or sessions.
+ *
+ * Requests are handled by a pool sized for many parallel browser contexts; the fake API keeps
+ * all state in concurrent maps and never blocks on I/O.
+ */
+public final class FixtureServer {
+
+    private static final Logger logger = LoggerFactory.getLogger(FixtureServer.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final String SESSION_COOKIE = "session";
+    private static final Map<String, String> CONTENT_TYPES = Map.of(
+            "html", "text/html; charset=utf-8",
+            "js", "application/javascript",
+            "css", "text/css",
+            "json", "application/json",
+            "svg", "image/svg+xml",
+            "png", "image/png",
+            "ico", "image/x-icon");
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final List<Product> products = catalog();
+    private final Map<String, UserRole> sessions = new ConcurrentHashMap<>();
+    private final Map<String, Cart> carts = new ConcurrentHashMap<>();
+
+    private FixtureServer(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    /**
+     * Start a server on a free loopback port
+     */
+    public static FixtureServer start() {
+        try {
+            HttpServer server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+            int threads = Math.max(32, Runtime.getRuntime().availableProcessors() * 8);
+            AtomicInteger counter = new AtomicInteger();
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(), runnable -> {
+                        Thread thread = new Thread(runnable, "fixture-server-" + counter.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            executor.allowCoreThreadTimeOut(true);
+            server.setExecutor(executor);
+
+            FixtureServer fixtureServer = new FixtureServer(server, executor);
+            server.createContext("/api/", fixtureServer::handleApi);
+            server.createContext("/", fixtureServer::handleStatic);
+            server.start();
+            logger.info("Fixture server listening on {}", fixtureServer.baseUrl());
+            return fixtureServer;
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to start fixture server", e);
+        }
+    }
+
+    public String baseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort();
+    }
+
+    public String apiUrl() {
+        return baseUrl() + "/api";
+    }
+
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+        logger.info("Fixture server stopped");
+    }
+
+    // Static pages: files by path, everything without an extension is the single-page app
+    private void handleStatic(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            int dot = path.lastIndexOf('.');
+            String resource = dot > path.lastIndexOf('/') ? path.substring(1) : "index.html";
+            if (resource.contains("..")) {
+                send(exchange, 404, "text/plain", "Not found".getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            try (InputStream in = FixtureServer.class.getClassLoader().getResourceAsStream("fixtures/" + resource)) {
+                if (in == null) {
+                    send(exchange, 404, "text/plain", "Not found".getBytes(StandardCharsets.UTF_8));
+                    return;
+                }
+                String extension = resource.substring(resource.lastIndexOf('.') + 1).toLowerCase(Locale.ROOT);
+                send(exchange, 200, CONTENT_TYPES.getOrDefault(extension, "application/octet-stream"), in.readAllBytes());
+            }
+        }
+    }
+
+    private void handleApi(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getPath().substring("/api".length());
+            // Only the cart hands out an anonymous session; everything else reads the caller's, if any
+            boolean cartEndpoint = path.equals("/cart") || path.startsWith("/cart/");
+            String session = cartEndpoint ? sessionOrAnonymous(exchange) : sessionOf(exchange);
+            try {
+                if (path.equals("/products") && method.equals("GET")) {
+                    sendJson(exchange, 200, listProducts(query(exchange)));
+                } else if (path.startsWith("/products/") && method.equals("GET")) {
+                    Product product = findProduct(path.substring("/products/".length()));
+                    sendJson(exchange, product == null ? 404 : 200, product == null ? error("Product not found") : product.toJson());
+                } else if (path.equals("/auth/login") && method.equals("POST")) {
+                    login(exchange, readJson(exchange));
+                } else if (path.equals("/auth/logout") && method.equals("POST")) {
+                    if (session != null) {
+                        sessions.remove(session);
+                    }
+                    sendJson(exchange, 200, MAPPER.createObjectNode());
+                } else if (path.equals("/auth/me") && method.equals("GET")) {
+                    UserRole user = session == null ? null : sessions.get(session);
+                    sendJson(exchange, user == null ? 401 : 200, user == null ? error("Not logged in") : userJson(user));
+                } else if (path.equals("/cart") && method.equals("GET")) {
+                    sendJson(exchange, 200, cartOf(session).toJson());
+                } else if (path.equals("/cart") && method.equals("DELETE")) {
+                    carts.remove(session);
+                    sendJson(exchange, 200, cartOf(session).toJson());
+                } else if (path.equals("/cart/items") && method.equals("POST")) {
+                    JsonNode body = readJson(exchange);
+                    Cart cart = cartOf(session);
+                    if (!cart.add(body.path("productId").asText(), body.path("quantity").asInt(1))) {
+                        sendJson(exchange, 404, error("Product not found"));
+                    } else {
+                        sendJson(exchange, 200, cart.toJson());
+                    }
+                } else if (path.startsWith("/cart/items/") && method.equals("DELETE")) {
+                    Cart cart = cartOf(session);
+                    cart.remove(path.substring("/cart/items/".length()));
+                    sendJson(exchange, 200, cart.toJson());
+                } else if (path.equals("/cart/promo") && method.equals("POST")) {
+                    Cart cart = cartOf(session);
+                    boolean valid = cart.applyPromo(readJson(exchange).path("code").asText());
+                    sendJson(exchange, valid ? 200 : 400, valid ? cart.toJson() : error("Invalid promo code"));
+                } else if (path.equals("/cart/batch") && method.equals("POST")) {
+                    seedCart(exchange, session, readJson(exchange));
+                } else if (path.equals("/orders") && method.equals("POST")) {
+                    Cart cart = session == null ? null : carts.remove(session);
+                    ObjectNode order = MAPPER.createObjectNode();
+                    order.put("orderId", "ORD-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase(Locale.ROOT));
+                    order.set("cart", cart == null ? new Cart().toJson() : cart.toJson());
+                    sendJson(exchange, 201, order);
+                } else {
+                    sendJson(exchange, 404, error("No fake for " + method + " " + path));
+                }
+            } catch (IOException e) {
+                sendJson(exchange, 400, error("Malformed request: " + e.getMessage()));
+            }
+        }
+    }
+
+    private void login(HttpExchange exchange, JsonNode body) throws IOException {
+        String email = body.path("email").asText();
+        String password = body.path("password").asText();
+        for (UserRole role : UserRole.values()) {
+            if (role.getEmail().equalsIgnoreCase(email) && role.getPassword().equals(password)) {
+                String token = UUID.randomUUID().toString();
+                sessions.put(token, role);
+                exchange.getResponseHeaders().add("Set-Cookie", SESSION_COOKIE + "=" + token + "; Path=/; HttpOnly; Max-Age=3600");
+                ObjectNode response = MAPPER.createObjectNode();
+                response.put("token", token);
+                response.set("user", userJson(role));
+                sendJson(exchange, 200, response);
+                return;
+            }
+        }
+        sendJson(exchange, 401, error("Invalid email or password"));
+    }
+
+    // One request replaces the whole cart: items, promo code and shipping details
+    private void seedCart(HttpExchange exchange, String session, JsonNode body) throws IOException {
+        Cart cart = new Cart();
+        for (JsonNode item : body.path("items")) {
+            if (!cart.add(item.path("productId").asText(), item.path("quantity").asInt(1))) {
+                sendJson(exchange, 404, error("Product not found: " + item.path("productId").asText()));
+                return;
+            }
+        }
+        if (body.hasNonNull("promoCode") && !cart.applyPromo(body.path("promoCode").asText())) {
+            sendJson(exchange, 400, error("Invalid promo code"));
+            return;
+        }
+        body.path("shipping").fields().forEachRemaining(field -> cart.shipping.put(field.getKey(), field.getValue().asText()));
+        carts.put(session, cart);
+        sendJson(exchange, 200, cart.toJson());
+    }
+
+    private ArrayNode listProducts(Map<String, String> query) {
+        String search = query.getOrDefault("search", "").toLowerCase(Locale.ROOT);
+        String category = query.getOrDefault("category", "");
+        ArrayNode result = MAPPER.createArrayNode();
+        for (Product product : products) {
+            if ((search.isEmpty() || product.name.toLowerCase(Locale.ROOT).contains(search))
+                    && (category.isEmpty() || product.category.equalsIgnoreCase(category))) {
+                result.add(product.toJson());
+            }
+        }
+        return result;
+    }
+
+    private Product findProduct(String id) {
+        for (Product product : products) {
+            if (product.id.equals(id)) {
+                return product;
+            }
+        }
+        return null;
+    }
+
+    private Cart cartOf(String session) {
+        return carts.computeIfAbsent(session, key -> new Cart());
+    }
+
+    // The caller's session, or a new anonymous one announced with a cookie
+    private String sessionOrAnonymous(HttpExchange exchange) {
+        String session = sessionOf(exchange);
+        if (session == null) {
+            session = UUID.randomUUID().toString();
+            exchange.getResponseHeaders().add("Set-Cookie", SESSION_COOKIE + "=" + session + "; Path=/; HttpOnly");
+        }
+        return session;
+    }
+
+    // The session cookie or a bearer token, or null for a caller without either
+    private static String sessionOf(HttpExchange exchange) {
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        if (authorization != null && authorization.startsWith("Bearer ")) {
+            return authorization.substring("Bearer ".length()).trim();
+        }
+        for (String header : exchange.getRequestHeaders().getOrDefault("Cookie", List.of())) {
+            for (String part : header.split(";")) {
+                String[] pair = part.trim().split("=", 2);
+                if (pair.length == 2 && pair[0].equals(SESSION_COOKIE)) {
+                    return pair[1];
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Map<String, String> query(HttpExchange exchange) {
+        Map<String, String> params = new LinkedHashMap<>();
+        String raw = exchange.getRequestURI().getRawQuery();
+        if (raw != null) {
+            for (String pair : raw.split("&")) {
+                String[] parts = pair.split("=", 2);
+                params.put(URLDecoder.decode(parts[0], StandardCharsets.UTF_8),
+                        parts.length > 1 ? URLDecoder.decode(parts[1], StandardCharsets.UTF_8) : "");
+            }
+        }
+        return params;
+    }
+
+    private static JsonNode readJson(HttpExchange exchange) throws IOException {
+        byte[] body = exchange.getRequestBody().readAllBytes();
+        return body.length == 0 ? MAPPER.createObjectNode() : MAPPER.readTree(body);
+    }
+
+    private static ObjectNode userJson(UserRole role) {
+        ObjectNode user = MAPPER.createObjectNode();
+        user.put("email", role.getEmail());
+        user.put("role", role.key());
+        return user;
+    }
+
+    private static ObjectNode error(String message) {
+        return MAPPER.createObjectNode().put("message", message);
+    }
+
+    private static void sendJson(HttpExchange exchange, int status, JsonNode body) throws IOException {
+        send(exchange, status, "application/json", MAPPER.writeValueAsBytes(body));
+    }
+
+    // HEAD gets the headers of the GET response, including its Content-Length, and no body
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.getResponseHeaders().set("Cache-Control", "no-store");
+        if (exchange.getRequestMethod().equals("HEAD")) {
+            exchange.getResponseHeaders().set("Content-Length", Integer.toString(body.length));
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static List<Product> catalog() {
+        List<Product> catalog = new ArrayList<>();
+        catalog.add(new Product("1", "Wireless Headphones", "Electronics", 99.99, 4.5, true));
+        catalog.add(new Product("2", "Smart Watch", "Electronics", 199.99, 4.2, true));
+        catalog.add(new Product("3", "Laptop Stand", "Accessories", 39.99, 4.7, true));
+        catalog.add(new Product("4", "Mechanical Keyboard", "Electronics", 129.99, 4.6, false));
+        catalog.add(new Product("5", "Running Shoes", "Sports", 79.99, 4.3, false));
+        catalog.add(new Product("6", "Yoga Mat", "Sports", 24.99, 4.1, false));
+        catalog.add(new Product("7", "Coffee Maker", "Home", 59.99, 4.4, false));
+        catalog.add(new Product("8", "Desk Lamp", "Home", 34.99, 4.0, false));
+        return catalog;
+    }
+
+    private static final class Product {
+        private final String id;
+        private final String name;
+        private final String category;
+        private final double price;
+        private final double rating;
+        private final boolean featured;
+
+        private Product(String id, String name, String category, double price, double rating, boolean featured) {
+            this.id = id;
+            this.name = name;
+            this.category = category;
+            this.price = price;
+            this.rating = rating;
+            this.featured = featured;
+        }
+
+        private ObjectNode toJson() {
+            ObjectNode json = MAPPER.createObjectNode();
+            json.put("id", id);
+            json.put("name", name);
+            json.put("category", category);
+            json.put("price", price);
+            json.put("rating", rating);
+            json.put("featured", featured);
+            json.put("sku", "SKU-" + id);
+            json.put("inStock", true);
+            json.put("description", name + " from the fixture catalog");
+            return json;
+        }
+    }
+
+    private final class Cart {
+        private final Map<String, Integer> quantities = new LinkedHashMap<>();
+        private final Map<String, String> shipping = new LinkedHashMap<>();
+        private String promoCode;
+
+        private synchronized boolean add(String productId, int quantity) {
+            if (findProduct(productId) == null) {
+                return false;
+            }
+            quantities.merge(productId, Math.max(1, quantity), Integer::sum);
+            return true;
+        }
+
+        private synchronized void remove(String productId) {
+            quantities.remove(productId);
+        }
+
+        // SAVE10 takes 10% off, FREESHIP waives shipping
+        private synchronized boolean applyPromo(String code) {
+            String normalized = code.trim().toUpperCase(Locale.ROOT);
+            if (!normalized.equals("SAVE10") && !normalized.equals("FREESHIP")) {
+                return false;
+            }
+            promoCode = normalized;
+            return true;
+        }
+
+        private synchronized ObjectNode toJson() {
+            ObjectNode json = MAPPER.createObjectNode();
+            ArrayNode items = json.putArray("items");
+            double subtotal = 0;
+            int count = 0;
+            for (Map.Entry<String, Integer> entry : quantities.entrySet()) {
+                Product product = findProduct(entry.getKey());
+                ObjectNode item = items.addObject();
+                item.put("productId", product.id);
+                item.put("name", product.name);
+                item.put("price", product.price);
+                item.put("quantity", entry.getValue());
+                item.put("subtotal", round(product.price * entry.getValue()));
+                subtotal += product.price * entry.getValue();
+                count += entry.getValue();
+            }
+            double discount = "SAVE10".equals(promoCode) ? subtotal * 0.10 : 0;
+            double shippingCost = count == 0 || "FREESHIP".equals(promoCode) || subtotal >= 100 ? 0 : 5.99;
+            double tax = (subtotal - discount) * 0.08;
+            json.put("itemCount", count);
+            json.put("subtotal", round(subtotal));
+            json.put("discount", round(discount));
+            json.put("tax", round(tax));
+            json.put("shipping", round(shippingCost));
+            json.put("total", round(subtotal - discount + tax + shippingCost));
+            json.put("promoCode", promoCode);
+            json.set("shippingDetails", MAPPER.valueToTree(shipping));
+            return json;
+        }
+
+        private double round(double amount) {
+            return Math.round(amount * 100) / 100.0;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.ecommerce.utils;
+
+import com.ecommerce.config.TestConfig;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.options.HarMode;
+import com.microsoft.playwright.options.HarNotFound;
+import com.microsoft.playwright.options.RouteFromHarUpdateContentPolicy;
+import org.aeonbits.owner.ConfigFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.regex.Pattern;
+
+/**
+ * Records the backend API traffic of each test into a HAR file, or serves it back from one so
+ * the test runs without the backend at {@code api.url}.
+ *
+ * HAR files live in {@code har.dir}, one directory per test class and one file per test method.
+ * Only requests matching {@code har.url} are recorded and replayed; a request that matches but is
+ * not in the HAR is aborted or sent to the network depending on {@code har.not.found}. Playwright
+ * matches recorded entries by method and URL, and by body for POST requests.
+ */
+public final class HarReplay {
+
+    private static final Logger logger = LoggerFactory.getLogger(HarReplay.class);
+    private static final TestConfig config = ConfigFactory.create(TestConfig.class);
+
+    /**
+     * Whether API traffic goes to the backend, is recorded, or is replayed
+     */
+    public enum Mode {
+        OFF("off"), RECORD("record"), REPLAY("replay");
+
+        private final String key;
+
+        Mode(String key) {
+            this.key = key;
+        }
+
+        public String key() {
+            return key;
+        }
+
+        public static Mode fromKey(String key) {
+            for (Mode mode : values()) {
+                if (mode.key.equalsIgnoreCase(key.trim())) {
+                    return mode;
+                }
+            }
+            throw new IllegalArgumentException("Unknown HAR mode '" + key + "', expected one of: off, record, replay");
+        }
+    }
+
+    private HarReplay() {
+    }
+
+    public static Mode mode() {
+        return Mode.fromKey(config.harMode());
+    }
+
+    /**
+     * Route the context's API requests to or from the test's HAR file. Recordings are written when
+     * the context is closed, so the context must not go back to a pool.
+     *
+     * @return whether a HAR route was installed
+     */
+    public static boolean attach(BrowserContext context, String testClass, String testMethod) {
+        Mode mode = mode();
+        if (mode == Mode.OFF) {
+            return false;
+        }
+        Path harFile = harFile(testClass, testMethod);
+        BrowserContext.RouteFromHAROptions options = new BrowserContext.RouteFromHAROptions()
+                .setNotFound(HarNotFound.valueOf(config.harNotFound().trim().toUpperCase()));
+        String url = config.harUrl().isBlank() ? config.apiUrl() + "/**" : config.harUrl().trim();
+        if (url.startsWith("regex:")) {
+            options.setUrl(Pattern.compile(url.substring("regex:".length())));
+        } else {
+            options.setUrl(url);
+        }
+
+        if (mode == Mode.RECORD) {
+            try {
+                Files.createDirectories(harFile.getParent());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Unable to create HAR directory " + harFile.getParent(), e);
+            }
+            options.setUpdate(true)
+                    .setUpdateContent(RouteFromHarUpdateContentPolicy.EMBED)
+                    .setUpdateMode(HarMode.MINIMAL);
+            logger.info("Recording API traffic matching {} to {}", url, harFile);
+        } else if (!Files.isRegularFile(harFile)) {
+            logger.warn("No HAR recorded for {}.{} at {}, API requests go to the backend", testClass, testMethod, harFile);
+            return false;
+        } else {
+            logger.info("Replaying API traffic matching {} from {}", url, harFile);
+        }
+        context.routeFromHAR(harFile, options);
+        return true;
+    }
+
+    private static Path harFile(String testClass, String testMethod) {
+        return Paths.get(config.harDir(), testClass, testMethod.replaceAll("[^A-Za-z0-9._-]", "_") + ".har");
+    }
+}
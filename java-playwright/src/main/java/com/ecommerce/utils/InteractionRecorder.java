@@ -0,0 +1,263 @@
+package com.ecommerce.utils;
+
+import com.ecommerce.config.TestConfig;
+import org.aeonbits.owner.ConfigFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Structured log of page interactions (clicks, fills, reads) written as JSONL off the test thread.
+ *
+ * Test threads copy each event into a preallocated ring buffer and return; a daemon writer thread
+ * drains the buffer into {@code interactions.file}. Nothing blocks the test thread: when the
+ * buffer is full the event is dropped, and once the backlog passes {@code interactions.sample.threshold}
+ * only one in {@code interactions.sample.rate} read events is kept. Actions that change the page
+ * are never sampled. Every event carries the correlation ID of the test running on its thread.
+ */
+public final class InteractionRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(InteractionRecorder.class);
+    private static final TestConfig config = ConfigFactory.create(TestConfig.class);
+    private static final InteractionRecorder INSTANCE = new InteractionRecorder();
+
+    private static final ThreadLocal<String> CORRELATION_ID = new ThreadLocal<>();
+    private static final AtomicLong TEST_SEQUENCE = new AtomicLong();
+
+    /**
+     * Whether an event changes the page (always kept), only reads it (sampled under load), or is a
+     * finished {@code @Step} method recorded by {@link StepRecorder} (always kept)
+     */
+    public enum Kind { ACTION, QUERY, STEP }
+
+    private final boolean enabled;
+    private final Slot[] ring;
+    private final int mask;
+    private final long sampleBacklog;
+    private final int sampleRate;
+
+    private final AtomicLong claimed = new AtomicLong();
+    private volatile long consumed;
+    private final AtomicLong queryCounter = new AtomicLong();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder sampledOut = new LongAdder();
+    private long written;
+
+    private final Path file;
+    private final Thread writerThread;
+    private volatile boolean running = true;
+
+    private InteractionRecorder() {
+        this.enabled = config.interactionsEnabled();
+        int capacity = Integer.highestOneBit(Math.max(64, config.interactionsBufferSize()));  // power of two
+        this.ring = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) {
+            ring[i] = new Slot();
+        }
+        this.mask = capacity - 1;
+        this.sampleBacklog = (long) (capacity * config.interactionsSampleThreshold());
+        this.sampleRate = Math.max(1, config.interactionsSampleRate());
+        this.file = Paths.get(config.interactionsFile());
+
+        if (enabled) {
+            writerThread = new Thread(this::drainLoop, "interaction-recorder");
+            writerThread.setDaemon(true);
+            writerThread.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(this::shutdown, "interaction-recorder-shutdown"));
+        } else {
+            writerThread = null;
+        }
+    }
+
+    public static InteractionRecorder getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Start a new correlation ID for the test on the current thread
+     */
+    public static String beginTest(String testName) {
+        String id = testName + "#" + TEST_SEQUENCE.incrementAndGet();
+        CORRELATION_ID.set(id);
+        return id;
+    }
+
+    public static void endTest() {
+        CORRELATION_ID.remove();
+    }
+
+    /**
+     * Record an interaction that started at {@code startNanos} and has just finished
+     *
+     * @param target selector or URL the interaction applied to
+     * @param value  text typed or read, may be null
+     */
+    public void record(Kind kind, String action, String target, Object value, long startNanos) {
+        if (!enabled) {
+            return;
+        }
+        long end = System.nanoTime();
+        long sequence;
+        do {
+            sequence = claimed.get();
+            long backlog = sequence - consumed;
+            if (backlog >= ring.length) {
+                dropped.increment();
+                return;
+            }
+            if (kind == Kind.QUERY && backlog >= sampleBacklog && queryCounter.incrementAndGet() % sampleRate != 0) {
+                sampledOut.increment();
+                return;
+            }
+        } while (!claimed.compareAndSet(sequence, sequence + 1));
+
+        Slot slot = ring[(int) (sequence & mask)];
+        slot.timestampMillis = System.currentTimeMillis();
+        slot.durationMicros = (end - startNanos) / 1_000;
+        slot.thread = Thread.currentThread().getName();
+        slot.correlationId = CORRELATION_ID.get();
+        slot.kind = kind;
+        slot.action = action;
+        slot.target = target;
+        slot.value = value == null ? null : String.valueOf(value);
+        slot.sequence = sequence;  // volatile write publishes the fields above to the writer
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public long getSampledOutCount() {
+        return sampledOut.sum();
+    }
+
+    private void drainLoop() {
+        try {
+            Path parent = file.toAbsolutePath().getParent();
+            if (parent != null) {
+                Files.createDirectories(parent);
+            }
+            try (Writer writer = new BufferedWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8), 64 * 1024)) {
+                StringBuilder line = new StringBuilder(256);
+                while (running || consumed < claimed.get()) {
+                    if (!drainAvailable(writer, line)) {
+                        writer.flush();
+                        LockSupport.parkNanos(5_000_000);
+                    }
+                }
+                writer.flush();
+            }
+        } catch (IOException e) {
+            logger.warn("Interaction log writer stopped: {}", e.getMessage());
+        }
+    }
+
+    // Write every published event; returns false when there was nothing to write
+    private boolean drainAvailable(Writer writer, StringBuilder line) throws IOException {
+        boolean wroteAny = false;
+        long next = consumed;
+        Slot slot = ring[(int) (next & mask)];
+        while (slot.sequence == next) {
+            line.setLength(0);
+            slot.appendJson(line);
+            line.append('\n');
+            writer.append(line);
+            slot.clear();
+            consumed = ++next;  // frees the slot for producers
+            written++;
+            wroteAny = true;
+            slot = ring[(int) (next & mask)];
+        }
+        return wroteAny;
+    }
+
+    private void shutdown() {
+        running = false;
+        try {
+            writerThread.join(5_000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        logger.info("Interaction log {}: {} events written, {} dropped, {} sampled out",
+                file, written, dropped.sum(), sampledOut.sum());
+    }
+
+    /**
+     * Preallocated, reused event holder
+     */
+    private static final class Slot {
+        private volatile long sequence = -1;
+        private long timestampMillis;
+        private long durationMicros;
+        private String thread;
+        private String correlationId;
+        private Kind kind;
+        private String action;
+        private String target;
+        private String value;
+
+        private void appendJson(StringBuilder out) {
+            out.append("{\"ts\":").append(timestampMillis)
+               .append(",\"us\":").append(durationMicros);
+            appendField(out, "test", correlationId);
+            appendField(out, "thread", thread);
+            appendField(out, "kind", kind == Kind.ACTION ? "action" : kind == Kind.QUERY ? "query" : "step");
+            appendField(out, "action", action);
+            appendField(out, "target", target);
+            appendField(out, "value", value);
+            out.append('}');
+        }
+
+        private void clear() {
+            thread = null;
+            correlationId = null;
+            action = null;
+            target = null;
+            value = null;
+        }
+
+        private static void appendField(StringBuilder out, String name, String value) {
+            if (value == null) {
+                return;
+            }
+            out.append(",\"").append(name).append("\":\"");
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '"':
+                        out.append("\\\"");
+                        break;
+                    case '\\':
+                        out.append("\\\\");
+                        break;
+                    case '\n':
+                        out.append("\\n");
+                        break;
+                    case '\r':
+                        out.append("\\r");
+                        break;
+                    case '\t':
+                        out.append("\\t");
+                        break;
+                    default:
+                        if (c < 0x20) {
+                            out.append(String.format("\\u%04x", (int) c));
+                        } else {
+                            out.append(c);
+                        }
+                }
+            }
+            out.append('"');
+        }
+    }
+}
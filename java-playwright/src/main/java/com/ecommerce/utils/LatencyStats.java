@@ -0,0 +1,102 @@
+package com.ecommerce.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Named latency distribution (count, average, p50, p95, max).
+ * Every named instance is registered JVM-wide and printed once at shutdown,
+ * so different code paths can be compared from the end of a test run log.
+ */
+public final class LatencyStats {
+
+    private static final Logger logger = LoggerFactory.getLogger(LatencyStats.class);
+    private static final Map<String, LatencyStats> REGISTRY = new ConcurrentSkipListMap<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(LatencyStats::logAll, "latency-stats-report"));
+    }
+
+    private final String name;
+    private long[] samples = new long[64];
+    private int count;
+
+    private LatencyStats(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Get or create the stats registered under the given name
+     */
+    public static LatencyStats named(String name) {
+        return REGISTRY.computeIfAbsent(name, LatencyStats::new);
+    }
+
+    /**
+     * Snapshot of every registered stats instance, ordered by name
+     */
+    public static Map<String, LatencyStats> all() {
+        return Collections.unmodifiableMap(new TreeMap<>(REGISTRY));
+    }
+
+    public synchronized void record(long nanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public synchronized int getCount() {
+        return count;
+    }
+
+    public synchronized double getAverageMillis() {
+        if (count == 0) {
+            return 0;
+        }
+        long total = 0;
+        for (int i = 0; i < count; i++) {
+            total += samples[i];
+        }
+        return total / (double) count / 1_000_000;
+    }
+
+    /**
+     * Percentile in milliseconds, e.g. 50 or 95
+     */
+    public synchronized double getPercentileMillis(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+        return sorted[Math.max(0, Math.min(index, count - 1))] / 1_000_000.0;
+    }
+
+    public synchronized double getMaxMillis() {
+        return getPercentileMillis(100);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s: count=%d, avg=%.1fms, p50=%.1fms, p95=%.1fms, max=%.1fms",
+                name, getCount(), getAverageMillis(), getPercentileMillis(50), getPercentileMillis(95), getMaxMillis());
+    }
+
+    private static void logAll() {
+        REGISTRY.values().stream()
+                .filter(stats -> stats.getCount() > 0)
+                .forEach(stats -> logger.info("{}", stats));
+    }
+}
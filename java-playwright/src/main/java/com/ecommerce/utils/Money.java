@@ -0,0 +1,108 @@
+package com.ecommerce.utils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Objects;
+
+/**
+ * Exact monetary amount with two decimal places and an optional ISO currency code.
+ * Amounts are compared by value, so {@code 10.5} and {@code 10.50} are equal.
+ */
+public final class Money implements Comparable<Money> {
+
+    public static final Money ZERO = new Money(BigDecimal.ZERO.setScale(2), null);
+
+    private final BigDecimal amount;
+    private final String currency;
+
+    private Money(BigDecimal amount, String currency) {
+        this.amount = amount;
+        this.currency = currency;
+    }
+
+    public static Money of(BigDecimal amount, String currency) {
+        return new Money(amount.setScale(2, RoundingMode.HALF_UP), currency);
+    }
+
+    public static Money of(BigDecimal amount) {
+        return of(amount, null);
+    }
+
+    /**
+     * Convert an expected value written as a double, e.g. {@code Money.of(19.99)}
+     */
+    public static Money of(double amount) {
+        return of(BigDecimal.valueOf(amount), null);
+    }
+
+    /**
+     * Parse a displayed price such as "$1,299.99" or "1.299,99 €"
+     */
+    public static Money parse(CharSequence text) {
+        return PriceParser.parse(text);
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    /**
+     * ISO 4217 code, or null when the text carried no recognizable currency
+     */
+    public String getCurrency() {
+        return currency;
+    }
+
+    public Money plus(Money other) {
+        return new Money(amount.add(other.amount), mergedCurrency(other));
+    }
+
+    public Money times(int quantity) {
+        return new Money(amount.multiply(BigDecimal.valueOf(quantity)), currency);
+    }
+
+    /**
+     * Compare amounts only, for checks against expected values that carry no currency
+     */
+    public boolean isSameAmount(Money other) {
+        return amount.compareTo(other.amount) == 0;
+    }
+
+    public boolean isZero() {
+        return amount.signum() == 0;
+    }
+
+    private String mergedCurrency(Money other) {
+        if (currency != null && other.currency != null && !currency.equals(other.currency)) {
+            throw new IllegalArgumentException("Cannot add " + other + " to " + this);
+        }
+        return currency != null ? currency : other.currency;
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return amount.compareTo(other.amount);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Money)) {
+            return false;
+        }
+        Money that = (Money) o;
+        return amount.compareTo(that.amount) == 0 && Objects.equals(currency, that.currency);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(amount.stripTrailingZeros(), currency);
+    }
+
+    @Override
+    public String toString() {
+        return currency == null ? amount.toPlainString() : amount.toPlainString() + " " + currency;
+    }
+}
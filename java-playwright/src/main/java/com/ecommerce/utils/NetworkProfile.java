@@ -0,0 +1,112 @@
+package com.ecommerce.utils;
+
+import com.ecommerce.config.TestConfig;
+import com.google.gson.JsonObject;
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.CDPSession;
+import com.microsoft.playwright.Page;
+import org.aeonbits.owner.ConfigFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Network and CPU conditions a test's page is emulated under, through the Chrome DevTools
+ * {@code Network.emulateNetworkConditions} and {@code Emulation.setCPUThrottlingRate} commands.
+ * While a profile is active the page objects record how long each page took to become ready,
+ * under {@code page ready [<profile>] <PageObject>} in the latency report.
+ */
+public enum NetworkProfile {
+
+    /** No emulation; collects the page-ready timings to compare the other profiles with */
+    BASELINE("baseline", 0, -1, -1, 1),
+
+    /** DevTools' Slow 3G preset on a mid-range phone CPU */
+    SLOW_3G("slow-3g", 2000, 50 * 1024, 50 * 1024, 6),
+
+    /** DevTools' Fast 3G preset on a mid-range phone CPU */
+    FAST_3G("fast-3g", 563, 180 * 1024, 84 * 1024, 4),
+
+    /** Congested 4G: 4 Mbit/s down, 3 Mbit/s up, 150ms round trip, mid-range phone CPU */
+    SLOW_4G("slow-4g", 150, 500 * 1024, 375 * 1024, 4),
+
+    /** Full bandwidth behind a 1s round trip, e.g. satellite or an overloaded VPN */
+    HIGH_LATENCY("high-latency", 1000, -1, -1, 1);
+
+    private static final Logger logger = LoggerFactory.getLogger(NetworkProfile.class);
+    private static final NetworkProfile ACTIVE = fromKey(ConfigFactory.create(TestConfig.class).networkProfile());
+
+    private final String key;
+    private final double latencyMillis;
+    private final double downloadBytesPerSecond;
+    private final double uploadBytesPerSecond;
+    private final double cpuSlowdown;
+
+    NetworkProfile(String key, double latencyMillis, double downloadBytesPerSecond, double uploadBytesPerSecond,
+                   double cpuSlowdown) {
+        this.key = key;
+        this.latencyMillis = latencyMillis;
+        this.downloadBytesPerSecond = downloadBytesPerSecond;
+        this.uploadBytesPerSecond = uploadBytesPerSecond;
+        this.cpuSlowdown = cpuSlowdown;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    /**
+     * The profile selected with {@code network.profile}, or null when none is
+     */
+    public static NetworkProfile active() {
+        return ACTIVE;
+    }
+
+    /**
+     * Parse a profile from its configuration key, e.g. {@code fast-3g}; empty means no profile
+     */
+    public static NetworkProfile fromKey(String key) {
+        if (key == null || key.isBlank()) {
+            return null;
+        }
+        for (NetworkProfile profile : values()) {
+            if (profile.key.equalsIgnoreCase(key.trim())) {
+                return profile;
+            }
+        }
+        throw new IllegalArgumentException("Unknown network profile '" + key
+                + "', expected one of: baseline, slow-3g, fast-3g, slow-4g, high-latency");
+    }
+
+    /**
+     * Emulate the profile on the page. DevTools is only available in Chromium; other browsers run
+     * unthrottled and still report page-ready timings.
+     *
+     * @return the DevTools session carrying the emulation, or null when nothing was emulated; detach
+     *         it when the test ends, which also lifts the emulation from a page that is reused
+     */
+    public CDPSession apply(BrowserContext context, Page page, String browserType) {
+        if (this == BASELINE) {
+            return null;
+        }
+        if (!"chromium".equalsIgnoreCase(browserType)) {
+            logger.warn("Network profile {} needs Chromium DevTools, {} runs unthrottled", key, browserType);
+            return null;
+        }
+        CDPSession session = context.newCDPSession(page);
+        session.send("Network.enable");
+        JsonObject conditions = new JsonObject();
+        conditions.addProperty("offline", false);
+        conditions.addProperty("latency", latencyMillis);
+        conditions.addProperty("downloadThroughput", downloadBytesPerSecond);
+        conditions.addProperty("uploadThroughput", uploadBytesPerSecond);
+        session.send("Network.emulateNetworkConditions", conditions);
+        if (cpuSlowdown > 1) {
+            JsonObject cpu = new JsonObject();
+            cpu.addProperty("rate", cpuSlowdown);
+            session.send("Emulation.setCPUThrottlingRate", cpu);
+        }
+        logger.debug("Emulating {}: {}ms latency, {} B/s down, {} B/s up, {}x CPU", key, latencyMillis,
+                downloadBytesPerSecond, uploadBytesPerSecond, cpuSlowdown);
+        return session;
+    }
+}
@@ -0,0 +1,129 @@
+package com.ecommerce.utils;
+
+import com.ecommerce.config.TestConfig;
+import com.microsoft.playwright.Page;
+import com.microsoft.playwright.PlaywrightException;
+import com.microsoft.playwright.Response;
+import org.aeonbits.owner.ConfigFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Decides when a page has settled after a navigation or an action: no fetch/XHR in flight and
+ * no nodes or text changed and no user input for {@code readiness.quiet.ms}. Attribute changes are
+ * not watched, so CSS animations, carousels and class-toggling spinners never keep a page busy. The bookkeeping runs inside the
+ * page from an init script, so a wait is a single {@code waitForFunction} instead of polling
+ * from the test.
+ *
+ * Because user input counts as activity, a settle never completes within the quiet window after
+ * a click; requests an action is known to trigger (search hitting the products API) can also be
+ * declared with {@link #runAndAwait(Runnable, String...)} so a slow or debounced request is never
+ * missed.
+ */
+public final class PageReadiness {
+
+    private static final Logger logger = LoggerFactory.getLogger(PageReadiness.class);
+    private static final TestConfig config = ConfigFactory.create(TestConfig.class);
+    private static final Map<Page, PageReadiness> INSTANCES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    // Counts fetch/XHR in flight and stamps the last activity; requests matching the ignore pattern are not tracked
+    private static final String TRACKER_SCRIPT =
+            "(() => {" +
+            "  if (window.__readiness) return;" +
+            "  const ignore = IGNORE ? new RegExp(IGNORE) : null;" +
+            "  const state = window.__readiness = { inflight: 0, lastActivity: performance.now() };" +
+            "  const touch = () => { state.lastActivity = performance.now(); };" +
+            "  const begin = url => { if (ignore && ignore.test(String(url))) return false; state.inflight++; touch(); return true; };" +
+            "  const end = () => { state.inflight = Math.max(0, state.inflight - 1); touch(); };" +
+            "  const originalFetch = window.fetch;" +
+            "  if (originalFetch) {" +
+            "    window.fetch = function(input, init) {" +
+            "      const tracked = begin(input && input.url ? input.url : input);" +
+            "      const result = originalFetch.apply(this, arguments);" +
+            "      return tracked ? result.finally(end) : result;" +
+            "    };" +
+            "  }" +
+            "  const open = XMLHttpRequest.prototype.open;" +
+            "  const send = XMLHttpRequest.prototype.send;" +
+            "  XMLHttpRequest.prototype.open = function(method, url) { this.__readinessUrl = url; return open.apply(this, arguments); };" +
+            "  XMLHttpRequest.prototype.send = function() {" +
+            "    if (begin(this.__readinessUrl)) this.addEventListener('loadend', end, { once: true });" +
+            "    return send.apply(this, arguments);" +
+            "  };" +
+            "  const observe = () => new MutationObserver(touch).observe(document, {" +
+            "    subtree: true, childList: true, characterData: true });" +
+            "  if (document.documentElement) observe(); else document.addEventListener('readystatechange', observe, { once: true });" +
+            "  ['click', 'input', 'change', 'submit', 'keydown'].forEach(type => window.addEventListener(type, touch, true));" +
+            "})()";
+
+    private static final String SETTLED_PREDICATE =
+            "quietMs => { const s = window.__readiness;" +
+            "  return document.readyState === 'complete' && (!s || (s.inflight === 0 && performance.now() - s.lastActivity >= quietMs)); }";
+
+    private final Page page;
+    private final int quietMillis;
+
+    private PageReadiness(Page page) {
+        this.page = page;
+        this.quietMillis = config.readinessQuietMillis();
+        String ignore = config.readinessIgnore();
+        String script = TRACKER_SCRIPT.replace("IGNORE", ignore.isEmpty() ? "null" : quote(ignore));
+        page.addInitScript(script);
+        try {
+            page.evaluate(script);  // the document already open did not run the init script
+        } catch (PlaywrightException e) {
+            logger.debug("Readiness tracker not installed in current document: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * The readiness tracker for a page, installed on first use
+     */
+    public static PageReadiness of(Page page) {
+        return INSTANCES.computeIfAbsent(page, PageReadiness::new);
+    }
+
+    /**
+     * Wait until no request is in flight and the DOM has been quiet for the quiet window
+     */
+    public void awaitSettled(double timeout) {
+        long start = System.nanoTime();
+        page.waitForFunction(SETTLED_PREDICATE, quietMillis, new Page.WaitForFunctionOptions().setTimeout(timeout));
+        LatencyStats.named("page settle").record(System.nanoTime() - start);
+    }
+
+    /**
+     * Run an action, wait for a response to every declared API path, then for the page to settle
+     *
+     * @param apiPaths URL fragments of requests the action is expected to make, e.g. "/api/products"
+     */
+    public void runAndAwait(Runnable action, String... apiPaths) {
+        runAndAwait(action, config.longTimeout(), apiPaths);
+    }
+
+    public void runAndAwait(Runnable action, double timeout, String... apiPaths) {
+        awaitResponses(action, apiPaths, 0, timeout);
+        awaitSettled(timeout);
+    }
+
+    // Nest one waitForResponse per expected path so every listener is registered before the action runs
+    private void awaitResponses(Runnable action, String[] apiPaths, int index, double timeout) {
+        if (index == apiPaths.length) {
+            action.run();
+            return;
+        }
+        String path = apiPaths[index];
+        page.waitForResponse(
+                (Response response) -> response.url().contains(path),
+                new Page.WaitForResponseOptions().setTimeout(timeout),
+                () -> awaitResponses(action, apiPaths, index + 1, timeout));
+    }
+
+    private static String quote(String value) {
+        return "'" + value.replace("\\", "\\\\").replace("'", "\\'") + "'";
+    }
+}
@@ -0,0 +1,59 @@
+package com.ecommerce.utils;
+
+import com.microsoft.playwright.Browser;
+import com.microsoft.playwright.Playwright;
+
+/**
+ * Playwright and browser confined to the thread that acquired them.
+ * Playwright objects are not thread-safe, so the runtime is leased from the {@link BrowserPool}
+ * for a single test on a single worker thread and rejects access from any other thread.
+ * Because the pool prefers the browser a thread used last, every worker effectively keeps
+ * its own Playwright and browser across tests without holding them between tests.
+ */
+public final class PlaywrightRuntime implements AutoCloseable {
+
+    private final BrowserPool.Lease lease;
+    private final Thread owner;
+
+    private PlaywrightRuntime(BrowserPool.Lease lease) {
+        this.lease = lease;
+        this.owner = Thread.currentThread();
+    }
+
+    /**
+     * Acquire a runtime for the current thread
+     */
+    public static PlaywrightRuntime acquire(BrowserSpec spec) {
+        return new PlaywrightRuntime(BrowserPool.getInstance().acquire(spec));
+    }
+
+    public Playwright playwright() {
+        checkThread();
+        return lease.playwright();
+    }
+
+    public Browser browser() {
+        checkThread();
+        return lease.browser();
+    }
+
+    /**
+     * Return the browser to the pool, or close it if it is no longer connected
+     */
+    @Override
+    public void close() {
+        checkThread();
+        if (lease.browser().isConnected()) {
+            lease.close();
+        } else {
+            lease.invalidate();
+        }
+    }
+
+    private void checkThread() {
+        if (Thread.currentThread() != owner) {
+            throw new IllegalStateException("Playwright runtime owned by " + owner.getName() +
+                    " accessed from " + Thread.currentThread().getName());
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package com.ecommerce.utils;
+
+import java.math.BigDecimal;
+
+/**
+ * Parses displayed prices into {@link Money} in a single pass without regular expressions
+ * or intermediate strings. Handles currency symbols or codes before or after the amount,
+ * "." or "," as the decimal separator ("$1,299.99", "1.299,99 €", "CHF 1'299.99"),
+ * spaces as grouping, negative amounts ("-$5.00", "($5.00)") and "Free" as zero.
+ */
+public final class PriceParser {
+
+    private PriceParser() {
+    }
+
+    /**
+     * Parse the first amount in the text
+     *
+     * @throws IllegalArgumentException if the text contains no amount
+     */
+    public static Money parse(CharSequence text) {
+        BigDecimal amount = parseAmount(text);
+        if (amount == null) {
+            if (isFree(text)) {
+                return Money.ZERO;
+            }
+            throw new IllegalArgumentException("No price in '" + text + "'");
+        }
+        return Money.of(amount, currencyOf(text));
+    }
+
+    /**
+     * Parse the first amount in the text, or return the fallback when there is none
+     */
+    public static Money parseOrDefault(CharSequence text, Money fallback) {
+        if (text == null) {
+            return fallback;
+        }
+        try {
+            return parse(text);
+        } catch (IllegalArgumentException e) {
+            return fallback;
+        }
+    }
+
+    /**
+     * First decimal number in the text without currency handling, e.g. 4.5 in "Rating: 4.5 / 5".
+     * A separator followed by exactly three digits is treated as grouping, any other "." or "," as
+     * decimal; a number never continues across a space unless the space groups thousands.
+     * The amount is negative only when a minus sign sits directly before it or its currency
+     * symbol, or when parentheses enclose it together with a currency ("($5.00)"), so a label
+     * such as "Rating (4.5)" or "Subtotal - $19.99" stays positive.
+     *
+     * @return the number, or null when the text contains none
+     */
+    public static BigDecimal parseAmount(CharSequence text) {
+        int length = text.length();
+        int start = 0;
+        while (start < length && !isDigit(text.charAt(start))) {
+            start++;
+        }
+        if (start == length) {
+            return null;
+        }
+
+        long unscaled = 0;
+        int digits = 0;
+        int scale = 0;
+        int firstGroup = 0;     // digits before the first separator
+        char grouping = 0;      // separator used for thousands, once one was seen
+        int i = start;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (isDigit(c)) {
+                if (digits < 18) {
+                    unscaled = unscaled * 10 + (c - '0');
+                } else {
+                    return null;
+                }
+                digits++;
+                if (grouping == 0) {
+                    firstGroup++;
+                }
+                i++;
+                continue;
+            }
+            int following = digitsAt(text, i + 1);
+            if (following == 0 || !isSeparator(c)) {
+                break;
+            }
+            boolean canGroup = following == 3 && (grouping == c || (grouping == 0 && firstGroup <= 3
+                    && text.charAt(start) != '0'));
+            if (canGroup) {
+                grouping = c;
+                i++;
+            } else if ((c == '.' || c == ',') && c != grouping) {
+                // Decimal part: take its digits and end the number
+                for (int j = i + 1; j < i + 1 + following; j++) {
+                    if (digits++ >= 18) {
+                        return null;
+                    }
+                    unscaled = unscaled * 10 + (text.charAt(j) - '0');
+                }
+                scale = following;
+                i += 1 + following;
+                break;
+            } else {
+                break;  // "$10 2" or "1.5.2": not a single amount, stop at the first part
+            }
+        }
+
+        boolean negative = isNegative(text, start, i);
+        return BigDecimal.valueOf(negative ? -unscaled : unscaled, scale);
+    }
+
+    // A minus directly before the amount or its currency prefix, or parentheses around a currency amount
+    private static boolean isNegative(CharSequence text, int start, int end) {
+        int before = currencyPrefixStart(text, start);
+        if (before == 0) {
+            return false;
+        }
+        char sign = text.charAt(before - 1);
+        if (sign == '-' || sign == '\u2212') {
+            return before == 1 || !Character.isLetterOrDigit(text.charAt(before - 2));
+        }
+        if (sign != '(') {
+            return false;
+        }
+        int after = currencySuffixEnd(text, end);
+        return after < text.length() && text.charAt(after) == ')' && (before < start || after > end);
+    }
+
+    // Index where a currency symbol or code directly before the amount starts, or start when there is none
+    private static int currencyPrefixStart(CharSequence text, int start) {
+        if (start > 0 && isCurrencySymbol(text.charAt(start - 1))) {
+            return start - 1;
+        }
+        int code = start > 0 && isSpace(text.charAt(start - 1)) ? start - 4 : start - 3;
+        if (code >= 0 && isUpper(text, code, 3) && (code == 0 || !Character.isLetter(text.charAt(code - 1)))) {
+            return code;
+        }
+        return start;
+    }
+
+    // Index after a currency symbol or code directly after the amount, or end when there is none
+    private static int currencySuffixEnd(CharSequence text, int end) {
+        int i = end < text.length() && isSpace(text.charAt(end)) ? end + 1 : end;
+        if (i < text.length() && isCurrencySymbol(text.charAt(i))) {
+            return i + 1;
+        }
+        if (i + 3 <= text.length() && isUpper(text, i, 3)
+                && (i + 3 == text.length() || !Character.isLetter(text.charAt(i + 3)))) {
+            return i + 3;
+        }
+        return end;
+    }
+
+    private static int digitsAt(CharSequence text, int from) {
+        int i = from;
+        while (i < text.length() && isDigit(text.charAt(i))) {
+            i++;
+        }
+        return i - from;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == '.' || c == ',' || c == '\'' || isSpace(c);
+    }
+
+    private static boolean isSpace(char c) {
+        return c == ' ' || c == '\u00a0' || c == '\u202f';
+    }
+
+    private static boolean isCurrencySymbol(char c) {
+        return c == '$' || c == '\u20ac' || c == '\u00a3' || c == '\u00a5';
+    }
+
+    private static String currencyOf(CharSequence text) {
+        for (int i = 0, length = text.length(); i < length; i++) {
+            switch (text.charAt(i)) {
+                case '$':
+                    return "USD";
+                case '\u20ac':
+                    return "EUR";
+                case '\u00a3':
+                    return "GBP";
+                case '\u00a5':
+                    return "JPY";
+                default:
+                    if (i + 3 <= length && isUpper(text, i, 3) && (i + 3 == length || !Character.isLetter(text.charAt(i + 3)))
+                            && (i == 0 || !Character.isLetter(text.charAt(i - 1)))) {
+                        return text.subSequence(i, i + 3).toString();
+                    }
+            }
+        }
+        return null;
+    }
+
+    private static boolean isUpper(CharSequence text, int start, int count) {
+        for (int i = start; i < start + count; i++) {
+            char c = text.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isFree(CharSequence text) {
+        return text.toString().toLowerCase().contains("free");
+    }
+}
@@ -0,0 +1,235 @@
+package com.ecommerce.utils;
+
+import com.ecommerce.config.TestConfig;
+import com.microsoft.playwright.Request;
+import com.microsoft.playwright.Route;
+import org.aeonbits.owner.ConfigFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * Context route handler that keeps a test from downloading what its {@link ResourcePolicy} and the
+ * {@code resources.block.patterns} leave out. Everything else falls through to routes registered
+ * before it, or to the network.
+ *
+ * Avoided requests are counted per suite (test class) and printed at shutdown together with the
+ * bytes they would have cost. Sizes are looked up with one HEAD request per URL and run on a
+ * background pool, never in a test or its teardown; the shutdown report waits at most
+ * {@link #REPORT_WAIT} for lookups still running and counts the rest as unknown.
+ */
+public final class ResourceBlocker implements Consumer<Route> {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResourceBlocker.class);
+    private static final TestConfig config = ConfigFactory.create(TestConfig.class);
+
+    // 1x1 transparent GIF, so image elements still load and keep their layout
+    private static final byte[] PIXEL = Base64.getDecoder().decode("R0lGODlhAQABAIAAAAAAAP///yH5BAEAAAAALAAAAAABAAEAAAIBRAA7");
+    private static final List<Pattern> BLOCKED_PATTERNS = globs(config.resourcesBlockPatterns());
+    private static final Set<String> FIRST_PARTY = hosts(config.baseUrl(), config.apiUrl());
+
+    private static final Duration REPORT_WAIT = Duration.ofSeconds(5);
+    private static final ExecutorService LOOKUPS = Executors.newFixedThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "resource-size-lookup");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final HttpClient CLIENT = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(2))
+            .followRedirects(HttpClient.Redirect.NORMAL)
+            .executor(LOOKUPS)
+            .build();
+
+    private static final Map<String, CompletableFuture<Long>> SIZES = new ConcurrentHashMap<>();
+    private static final Map<String, Totals> SUITES = new ConcurrentSkipListMap<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(ResourceBlocker::logAll, "resource-blocker-report"));
+    }
+
+    private final String suite;
+    private final ResourcePolicy policy;
+    private final List<String> avoided = new ArrayList<>();
+
+    private ResourceBlocker(String suite, ResourcePolicy policy) {
+        this.suite = suite;
+        this.policy = policy;
+    }
+
+    /**
+     * A blocker for one test, or null when the policy and the configured patterns block nothing
+     *
+     * @param suite name the savings are reported under, usually the test class
+     */
+    public static ResourceBlocker create(String suite, ResourcePolicy policy) {
+        if (policy == ResourcePolicy.FULL && BLOCKED_PATTERNS.isEmpty()) {
+            return null;
+        }
+        return new ResourceBlocker(suite, policy);
+    }
+
+    public ResourcePolicy getPolicy() {
+        return policy;
+    }
+
+    @Override
+    public void accept(Route route) {
+        Request request = route.request();
+        String url = request.url();
+        String type = request.resourceType();
+        if (policy.stubbedTypes().contains(type)) {
+            avoided.add(url);
+            route.fulfill(new Route.FulfillOptions().setStatus(200).setContentType("image/gif").setBodyBytes(PIXEL));
+        } else if (policy.abortedTypes().contains(type)
+                || (policy.isFirstPartyOnly() && !FIRST_PARTY.contains(hostOf(url)))
+                || matchesBlockedPattern(url)) {
+            avoided.add(url);
+            route.abort("blockedbyclient");
+        } else {
+            route.fallback();
+        }
+    }
+
+    /**
+     * Add this test's avoided requests to the suite totals and queue a size lookup for every URL
+     * not seen before; returns without waiting for the lookups
+     */
+    public void finish() {
+        Totals totals = SUITES.computeIfAbsent(suite + " (" + policy.key() + ")", key -> new Totals());
+        for (String url : avoided) {
+            SIZES.computeIfAbsent(url, ResourceBlocker::lookUpSize);
+            totals.perUrl.computeIfAbsent(url, key -> new LongAdder()).increment();
+        }
+        totals.requests.add(avoided.size());
+        logger.debug("Avoided {} requests under the {} policy", avoided.size(), policy.key());
+        avoided.clear();
+    }
+
+    // Content-Length from a HEAD request, or -1 when the host does not answer with one
+    private static CompletableFuture<Long> lookUpSize(String url) {
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder(URI.create(url))
+                    .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                    .timeout(Duration.ofSeconds(2))
+                    .build();
+        } catch (IllegalArgumentException e) {
+            return CompletableFuture.completedFuture(-1L);  // data: and blob: URLs have no size to look up
+        }
+        return CLIENT.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .thenApply(response -> response.statusCode() / 100 == 2
+                        ? response.headers().firstValueAsLong("content-length").orElse(-1L)
+                        : -1L)
+                // Third-party hosts may be unreachable from the test environment
+                .exceptionally(e -> -1L);
+    }
+
+    private static boolean matchesBlockedPattern(String url) {
+        for (Pattern pattern : BLOCKED_PATTERNS) {
+            if (pattern.matcher(url).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Glob with * (within a path segment) and ** (anything), as in Playwright's route patterns
+    private static List<Pattern> globs(List<String> patterns) {
+        List<Pattern> compiled = new ArrayList<>();
+        for (String glob : patterns) {
+            if (glob.isBlank()) {
+                continue;
+            }
+            StringBuilder regex = new StringBuilder();
+            String[] parts = glob.trim().split("\\*\\*", -1);
+            for (int i = 0; i < parts.length; i++) {
+                if (i > 0) {
+                    regex.append(".*");
+                }
+                String[] segments = parts[i].split("\\*", -1);
+                for (int j = 0; j < segments.length; j++) {
+                    if (j > 0) {
+                        regex.append("[^/]*");
+                    }
+                    regex.append(Pattern.quote(segments[j]));
+                }
+            }
+            compiled.add(Pattern.compile(regex.toString()));
+        }
+        return compiled;
+    }
+
+    private static Set<String> hosts(String... urls) {
+        Set<String> hosts = new HashSet<>();
+        for (String url : urls) {
+            hosts.add(hostOf(url));
+        }
+        return hosts;
+    }
+
+    private static String hostOf(String url) {
+        try {
+            String host = URI.create(url).getHost();
+            return host == null ? "" : host;
+        } catch (IllegalArgumentException e) {
+            return "";
+        }
+    }
+
+    private static void logAll() {
+        long deadline = System.nanoTime() + REPORT_WAIT.toNanos();
+        SUITES.forEach((suite, totals) -> {
+            long bytes = 0;
+            long unknown = 0;
+            for (Map.Entry<String, LongAdder> entry : totals.perUrl.entrySet()) {
+                long size = sizeOf(entry.getKey(), deadline);
+                if (size >= 0) {
+                    bytes += size * entry.getValue().sum();
+                } else {
+                    unknown += entry.getValue().sum();
+                }
+            }
+            logger.info("Resources avoided by {}: {} requests, {} KB{}", suite, totals.requests.sum(), bytes / 1024,
+                    unknown == 0 ? "" : " (+" + unknown + " of unknown size)");
+        });
+        LOOKUPS.shutdownNow();
+    }
+
+    private static long sizeOf(String url, long deadline) {
+        try {
+            return SIZES.get(url).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException | ExecutionException e) {
+            return -1;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return -1;
+        }
+    }
+
+    private static final class Totals {
+        private final LongAdder requests = new LongAdder();
+        private final Map<String, LongAdder> perUrl = new ConcurrentHashMap<>();
+    }
+}
@@ -0,0 +1,85 @@
+package com.ecommerce.utils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Which resources a test's browser context does not download. Selected per test or class with a
+ * JUnit {@code @Tag} carrying the policy key, e.g. {@code @Tag("non-visual")}, or for the whole run
+ * with {@code resources.policy}.
+ */
+public enum ResourcePolicy {
+
+    /** Everything is loaded, as a user's browser would */
+    FULL("full", Collections.emptySet(), Collections.emptySet(), false),
+
+    /** Images are answered with a transparent pixel; fonts and audio/video are aborted */
+    NO_MEDIA("no-media", set("image"), set("font", "media"), false),
+
+    /** Like no-media, and requests to hosts other than the application and its API are aborted */
+    NON_VISUAL("non-visual", set("image"), set("font", "media"), true);
+
+    private final String key;
+    private final Set<String> stubbedTypes;
+    private final Set<String> abortedTypes;
+    private final boolean firstPartyOnly;
+
+    ResourcePolicy(String key, Set<String> stubbedTypes, Set<String> abortedTypes, boolean firstPartyOnly) {
+        this.key = key;
+        this.stubbedTypes = stubbedTypes;
+        this.abortedTypes = abortedTypes;
+        this.firstPartyOnly = firstPartyOnly;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    /**
+     * Resource types (Playwright's {@code Request.resourceType()}) answered with an empty placeholder
+     */
+    public Set<String> stubbedTypes() {
+        return stubbedTypes;
+    }
+
+    /**
+     * Resource types whose requests are aborted
+     */
+    public Set<String> abortedTypes() {
+        return abortedTypes;
+    }
+
+    public boolean isFirstPartyOnly() {
+        return firstPartyOnly;
+    }
+
+    /**
+     * The policy for a test from its JUnit tags, or the fallback when no tag names a policy
+     */
+    public static ResourcePolicy forTags(Set<String> tags, ResourcePolicy fallback) {
+        for (ResourcePolicy policy : values()) {
+            if (tags.contains(policy.key)) {
+                return policy;
+            }
+        }
+        return fallback;
+    }
+
+    /**
+     * Parse a policy from its configuration key, e.g. {@code non-visual}
+     */
+    public static ResourcePolicy fromKey(String key) {
+        for (ResourcePolicy policy : values()) {
+            if (policy.key.equalsIgnoreCase(key.trim())) {
+                return policy;
+            }
+        }
+        throw new IllegalArgumentException("Unknown resource policy '" + key + "', expected one of: full, no-media, non-visual");
+    }
+
+    private static Set<String> set(String... types) {
+        return Collections.unmodifiableSet(new HashSet<>(Arrays.asList(types)));
+    }
+}
@@ -0,0 +1,140 @@
+package com.ecommerce.utils;
+
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.Step;
+import io.qameta.allure.aspects.StepsAspects;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.RuntimeMXBean;
+import java.util.UUID;
+
+/**
+ * Reports what the configured {@code step.weaving} mode costs: JVM start until the first test
+ * is ready (load-time weaving slows class loading), and the time one {@code @Step} call adds
+ * compared with a plain call. Next to it, the cost of one {@link StepRecorder} event, which is
+ * what a step costs under {@code -Pfast}, so one run compares the recorder with the agent or ctw.
+ * The step probe runs against a private Allure lifecycle, so it never shows up in the report;
+ * recorder events of the probe carry the correlation ID {@code step-overhead-probe}.
+ */
+public final class StepOverheadProbe {
+
+    private static final Logger logger = LoggerFactory.getLogger(StepOverheadProbe.class);
+    private static final int WARMUP_CALLS = 2_000;
+    private static final int MEASURED_CALLS = 2_000;
+
+    private static boolean reported;
+    private static volatile long sink;
+
+    private StepOverheadProbe() {
+    }
+
+    /**
+     * Log the startup time and per-step overhead once per JVM
+     */
+    public static synchronized void reportOnce() {
+        if (reported) {
+            return;
+        }
+        reported = true;
+        RuntimeMXBean runtime = ManagementFactory.getRuntimeMXBean();
+        long startupMillis = System.currentTimeMillis() - runtime.getStartTime();
+        String mode = System.getProperty("step.weaving", runtime.getInputArguments().stream()
+                .anyMatch(arg -> arg.startsWith("-javaagent") && arg.contains("aspectjweaver")) ? "agent" : "none");
+
+        InteractionRecorder.beginTest("step-overhead-probe");
+        try {
+            double stepNanos = measureStepOverhead();
+            double recorderNanos = measureRecorderOverhead();
+            logger.info("Step weaving '{}': JVM start to first test {}ms, {} classes loaded, @Step overhead {} ns/call;"
+                            + " step recorder (-Pfast) {} ns/step",
+                    mode, startupMillis, ManagementFactory.getClassLoadingMXBean().getLoadedClassCount(),
+                    String.format("%.0f", stepNanos), String.format("%.0f", recorderNanos));
+        } catch (RuntimeException | LinkageError e) {
+            logger.warn("Could not measure @Step overhead for weaving '{}': {}", mode, e.getMessage());
+        } finally {
+            InteractionRecorder.endTest();
+        }
+    }
+
+    // What StepRecorder's advice adds around a call: the clock read and one interaction event
+    private static double measureRecorderOverhead() {
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            long start = System.nanoTime();
+            sink += plainCall(i);
+            StepRecorder.record("StepOverheadProbe.probeStep", "probe {value}", start);
+        }
+        long recordedStart = System.nanoTime();
+        for (int i = 0; i < MEASURED_CALLS; i++) {
+            long start = System.nanoTime();
+            sink += plainCall(i);
+            StepRecorder.record("StepOverheadProbe.probeStep", "probe {value}", start);
+        }
+        long recordedNanos = System.nanoTime() - recordedStart;
+
+        long plainStart = System.nanoTime();
+        for (int i = 0; i < MEASURED_CALLS; i++) {
+            sink += plainCall(i);
+        }
+        long plainNanos = System.nanoTime() - plainStart;
+        return Math.max(0, recordedNanos - plainNanos) / (double) MEASURED_CALLS;
+    }
+
+    private static double measureStepOverhead() {
+        AllureLifecycle probeLifecycle = new AllureLifecycle(new DiscardingWriter());
+        String uuid = UUID.randomUUID().toString();
+        probeLifecycle.scheduleTestCase(new TestResult().setUuid(uuid).setName("step overhead probe"));
+        probeLifecycle.startTestCase(uuid);
+        StepsAspects.setLifecycle(probeLifecycle);
+        try {
+            for (int i = 0; i < WARMUP_CALLS; i++) {
+                sink += probeStep(i) + plainCall(i);
+            }
+            long stepStart = System.nanoTime();
+            for (int i = 0; i < MEASURED_CALLS; i++) {
+                sink += probeStep(i);
+            }
+            long stepNanos = System.nanoTime() - stepStart;
+
+            long plainStart = System.nanoTime();
+            for (int i = 0; i < MEASURED_CALLS; i++) {
+                sink += plainCall(i);
+            }
+            long plainNanos = System.nanoTime() - plainStart;
+            return Math.max(0, stepNanos - plainNanos) / (double) MEASURED_CALLS;
+        } finally {
+            StepsAspects.setLifecycle(Allure.getLifecycle());
+            probeLifecycle.stopTestCase(uuid);
+            probeLifecycle.writeTestCase(uuid);
+        }
+    }
+
+    @Step("probe {value}")
+    private static int probeStep(int value) {
+        return value & 1;
+    }
+
+    private static int plainCall(int value) {
+        return value & 1;
+    }
+
+    private static final class DiscardingWriter implements AllureResultsWriter {
+        @Override
+        public void write(TestResult testResult) {
+        }
+
+        @Override
+        public void write(TestResultContainer testResultContainer) {
+        }
+
+        @Override
+        public void write(String source, InputStream attachment) {
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.ecommerce.utils;
+
+import io.qameta.allure.Step;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Lightweight replacement for Allure's step interception in {@code -Pfast} runs: every
+ * {@code @Step} method is written to the interaction log as a {@code step} event with its class,
+ * method, step name template and duration. Unlike Allure it keeps no step tree, formats no
+ * parameters and takes no attachments, so a step costs one ring-buffer write.
+ *
+ * The aspect is woven at compile time by the {@code fast} Maven profile and only records when
+ * {@code step.weaving=recorder}; the {@code ctw} profile weaves it too, but there it stays idle.
+ */
+@Aspect
+public class StepRecorder {
+
+    private static final boolean ENABLED = "recorder".equals(System.getProperty("step.weaving"));
+    private static final InteractionRecorder events = InteractionRecorder.getInstance();
+
+    // Step name and template per method signature, so a call never touches reflection twice
+    private static final Map<MethodSignature, String[]> NAMES = new ConcurrentHashMap<>();
+
+    @Around("execution(@io.qameta.allure.Step * *(..))")
+    public Object recordStep(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!ENABLED) {
+            return joinPoint.proceed();
+        }
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            String[] name = NAMES.computeIfAbsent((MethodSignature) joinPoint.getSignature(), StepRecorder::nameOf);
+            record(name[0], name[1], start);
+        }
+    }
+
+    /**
+     * Record a finished step that started at {@code startNanos}
+     *
+     * @param step     class and method, e.g. {@code LoginPage.login}
+     * @param template the {@code @Step} value with its placeholders unexpanded
+     */
+    public static void record(String step, String template, long startNanos) {
+        events.record(InteractionRecorder.Kind.STEP, "step", step, template, startNanos);
+    }
+
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    private static String[] nameOf(MethodSignature signature) {
+        Step step = signature.getMethod().getAnnotation(Step.class);
+        return new String[] {
+                signature.getDeclaringType().getSimpleName() + "." + signature.getName(),
+                step == null ? "" : step.value()};
+    }
+}
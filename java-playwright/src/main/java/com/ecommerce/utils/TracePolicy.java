@@ -0,0 +1,41 @@
+package com.ecommerce.utils;
+
+/**
+ * When Playwright tracing is recorded and which traces are kept.
+ */
+public enum TracePolicy {
+
+    /** No tracing at all */
+    OFF("off"),
+
+    /** Trace every test in memory and write the archive only when the test fails */
+    RETAIN_ON_FAILURE("retain-on-failure"),
+
+    /** Trace only retried tests (surefire rerunFailingTestsCount) and keep the trace if the retry fails */
+    ON_FIRST_RETRY("on-first-retry"),
+
+    /** Like retain-on-failure, but the test is split into chunks and only the chunk that failed is kept */
+    CHUNKED("chunked");
+
+    private final String key;
+
+    TracePolicy(String key) {
+        this.key = key;
+    }
+
+    public String key() {
+        return key;
+    }
+
+    /**
+     * Parse a policy from its configuration key, e.g. {@code retain-on-failure}
+     */
+    public static TracePolicy fromKey(String key) {
+        for (TracePolicy policy : values()) {
+            if (policy.key.equalsIgnoreCase(key.trim())) {
+                return policy;
+            }
+        }
+        throw new IllegalArgumentException("Unknown trace mode '" + key + "', expected one of: off, retain-on-failure, on-first-retry, chunked");
+    }
+}
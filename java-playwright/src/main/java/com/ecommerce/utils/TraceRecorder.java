@@ -0,0 +1,121 @@
+package com.ecommerce.utils;
+
+import com.microsoft.playwright.BrowserContext;
+import com.microsoft.playwright.Tracing;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Path;
+
+/**
+ * Records the Playwright trace of a single test according to a {@link TracePolicy}.
+ * Traces are held by the browser until the test ends and only written to disk when the
+ * test failed. Time spent in the tracing API is recorded per policy in {@link LatencyStats}.
+ */
+public final class TraceRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(TraceRecorder.class);
+
+    private final TracePolicy policy;
+    private final BrowserContext context;
+    private final String testName;
+    private final Path traceDir;
+    private final boolean active;
+    private String chunkTitle;
+    private long overheadNanos;
+
+    private TraceRecorder(TracePolicy policy, BrowserContext context, String testName, Path traceDir, boolean active) {
+        this.policy = policy;
+        this.context = context;
+        this.testName = testName;
+        this.traceDir = traceDir;
+        this.active = active;
+    }
+
+    /**
+     * Start tracing a test if the policy asks for it
+     *
+     * @param retry whether this run is a retry of a test that already failed in this JVM
+     */
+    public static TraceRecorder start(TracePolicy policy, BrowserContext context, String testName, Path traceDir, boolean retry) {
+        boolean active = policy == TracePolicy.RETAIN_ON_FAILURE || policy == TracePolicy.CHUNKED
+                || (policy == TracePolicy.ON_FIRST_RETRY && retry);
+        TraceRecorder recorder = new TraceRecorder(policy, context, testName, traceDir, active);
+        if (active) {
+            long start = System.nanoTime();
+            context.tracing().start(new Tracing.StartOptions()
+                    .setTitle(testName)
+                    .setScreenshots(true)
+                    .setSnapshots(true)
+                    .setSources(true));
+            if (policy == TracePolicy.CHUNKED) {
+                recorder.startChunk("setup");
+            }
+            recorder.overheadNanos += System.nanoTime() - start;
+        }
+        return recorder;
+    }
+
+    /**
+     * Close the current chunk and start a new one. In chunked mode the finished chunk passed,
+     * so it is discarded; other policies ignore checkpoints.
+     */
+    public void checkpoint(String title) {
+        if (!active || policy != TracePolicy.CHUNKED) {
+            return;
+        }
+        long start = System.nanoTime();
+        context.tracing().stopChunk();
+        startChunk(title);
+        overheadNanos += System.nanoTime() - start;
+    }
+
+    /**
+     * Stop tracing and keep the trace if the test failed
+     *
+     * @return the saved trace archive, or null when nothing was kept
+     */
+    public Path finish(boolean failed) {
+        if (!active) {
+            return null;
+        }
+        long start = System.nanoTime();
+        Path tracePath = null;
+        try {
+            if (failed) {
+                String suffix = policy == TracePolicy.CHUNKED ? "_" + chunkTitle : "";
+                tracePath = traceDir.resolve(fileNameOf(testName + suffix) + "_trace.zip");
+            }
+            if (policy == TracePolicy.CHUNKED) {
+                context.tracing().stopChunk(new Tracing.StopChunkOptions().setPath(tracePath));
+                context.tracing().stop();
+            } else {
+                context.tracing().stop(new Tracing.StopOptions().setPath(tracePath));
+            }
+        } finally {
+            overheadNanos += System.nanoTime() - start;
+            LatencyStats.named("tracing overhead (" + policy.key() + ")").record(overheadNanos);
+        }
+        if (tracePath != null) {
+            logger.info("Trace saved to: {}", tracePath);
+        }
+        return tracePath;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public long getOverheadMillis() {
+        return overheadNanos / 1_000_000;
+    }
+
+    private void startChunk(String title) {
+        chunkTitle = title;
+        context.tracing().startChunk(new Tracing.StartChunkOptions().setTitle(testName + " - " + title));
+    }
+
+    private static String fileNameOf(String name) {
+        return name.replaceAll("[^A-Za-z0-9._-]+", "_");
+    }
+}
@@ -0,0 +1,70 @@
+package com.ecommerce.pages;
+
+import com.ecommerce.utils.Money;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link OrderSummary#reconcile()}; no browser involved.
+ */
+class OrderSummaryTests {
+
+    private static final List<OrderSummary.LineItem> ITEMS = List.of(
+            new OrderSummary.LineItem("Wireless Headphones", Money.parse("$99.99"), 1, Money.parse("$99.99")),
+            new OrderSummary.LineItem("Yoga Mat", Money.parse("$24.99"), 2, Money.parse("$49.98")));
+
+    @Test
+    @DisplayName("An order that adds up has no problems")
+    void acceptsConsistentOrder() {
+        OrderSummary summary = new OrderSummary(ITEMS, Money.parse("$149.97"), Money.parse("$12.00"),
+                Money.parse("Free"), Money.parse("$161.97"));
+        assertEquals(List.of(), summary.reconcile());
+    }
+
+    @Test
+    @DisplayName("A discount line shown as a labelled amount is not read as negative")
+    void readsLabelledAmountsAsPositive() {
+        OrderSummary summary = new OrderSummary(ITEMS, Money.parse("Subtotal - $149.97"), Money.parse("Tax - $12.00"),
+                Money.parse("Shipping - $5.99"), Money.parse("Total - $167.96"));
+        assertEquals(List.of(), summary.reconcile());
+    }
+
+    @Test
+    @DisplayName("Wrong line totals, subtotal and total are reported")
+    void reportsMismatches() {
+        List<OrderSummary.LineItem> items = List.of(
+                new OrderSummary.LineItem("Yoga Mat", Money.parse("$24.99"), 2, Money.parse("$24.99")));
+        OrderSummary summary = new OrderSummary(items, Money.parse("$50.00"), Money.parse("$4.00"),
+                Money.parse("$5.99"), Money.parse("$60.00"));
+
+        List<String> problems = summary.reconcile();
+
+        assertEquals(3, problems.size(), problems::toString);
+        assertTrue(problems.get(0).startsWith("Item 'Yoga Mat'"), problems::toString);
+        assertTrue(problems.get(1).startsWith("Items add up to"), problems::toString);
+        assertTrue(problems.get(2).startsWith("Subtotal + tax + shipping"), problems::toString);
+    }
+
+    @Test
+    @DisplayName("Missing prices and totals are reported")
+    void reportsMissingValues() {
+        List<OrderSummary.LineItem> items = List.of(new OrderSummary.LineItem("Mystery Box", null, 1, null));
+        List<String> problems = new OrderSummary(items, null, null, null, null).reconcile();
+
+        assertEquals(List.of("No price for item 'Mystery Box'", "Subtotal or total missing from the page"), problems);
+    }
+
+    @Test
+    @DisplayName("An item without a readable quantity is reported, not counted once")
+    void reportsMissingQuantity() {
+        List<OrderSummary.LineItem> items = List.of(
+                new OrderSummary.LineItem("Yoga Mat", Money.parse("$24.99"), null, Money.parse("$24.99")));
+        List<String> problems = new OrderSummary(items, Money.parse("$24.99"), null, null, Money.parse("$24.99")).reconcile();
+
+        assertEquals(List.of("No quantity for item 'Yoga Mat'"), problems);
+    }
+}
@@ -0,0 +1,20 @@
+package com.ecommerce.tests;
+
+import com.ecommerce.config.UserRole;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Start the test, or every test of the class, with a browser context already logged in as the role.
+ * The session comes from the shared storage state cache, so the login form is not used.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Inherited
+public @interface AuthenticatedAs {
+    UserRole value();
+}
@@ -1,33 +1,86 @@
 package com.ecommerce.tests;
 
 import com.microsoft.playwright.*;
+import com.ecommerce.config.TestConfig;
+import com.ecommerce.config.UserRole;
 import com.ecommerce.pages.*;
+import com.ecommerce.utils.AuthStateCache;
+import com.ecommerce.utils.BrowserSpec;
+import com.ecommerce.utils.CartFixture;
+import com.ecommerce.utils.ContextPool;
+import com.ecommerce.utils.HarReplay;
+import com.ecommerce.utils.InteractionRecorder;
+import com.ecommerce.utils.LatencyStats;
+import com.ecommerce.utils.NetworkProfile;
+import com.ecommerce.utils.PlaywrightRuntime;
+import com.ecommerce.utils.ResourceBlocker;
+import com.ecommerce.utils.ResourcePolicy;
+import com.ecommerce.utils.StepOverheadProbe;
+import com.ecommerce.utils.TracePolicy;
+import com.ecommerce.utils.TraceRecorder;
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.extension.ExtendWith;
 import io.qameta.allure.Step;
+import org.aeonbits.owner.ConfigFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.reflect.Method;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * Base test class containing common setup and teardown for all test classes.
  * This class handles Playwright browser initialization and page object creation.
  */
+@ExtendWith(TestOutcomeExtension.class)
 public abstract class BaseTest {
     
     protected static final Logger logger = LoggerFactory.getLogger(BaseTest.class);
     
-    // Configuration
-    protected static final String BASE_URL = System.getProperty("base.url", "http://localhost:3000");
-    protected static final String API_URL = System.getProperty("api.url", "http://localhost:5001/api");
-    protected static final boolean HEADLESS = Boolean.parseBoolean(System.getProperty("headless", "true"));
-    protected static final String BROWSER_TYPE = System.getProperty("browser", "chromium");
+    // Configuration, resolved from system properties, the -Dtest.profile execution profile and test.properties
+    protected static final TestConfig config = ConfigFactory.create(TestConfig.class);
+    protected static final String BASE_URL = config.baseUrl();
+    protected static final String API_URL = config.apiUrl();
+    protected static final boolean HEADLESS = config.isHeadless();
+    protected static final String BROWSER_TYPE = System.getProperty("browser", config.browserType());
+    protected static final boolean CONTEXT_POOL = Boolean.parseBoolean(System.getProperty("context.pool", "false"));
+    protected static final NetworkProfile NETWORK_PROFILE = NetworkProfile.active();
+    protected static final TracePolicy TRACE_POLICY = TracePolicy.fromKey(config.traceMode());
+    protected static final Path TRACE_DIR = Paths.get(config.traceDir());
+    private static final List<String> LAUNCH_ARGS = Arrays.stream(config.launchArgs())
+            .map(String::trim)
+            .filter(arg -> !arg.isEmpty())
+            .collect(Collectors.toList());
     
-    // Playwright instances
-    protected static Playwright playwright;
-    protected static Browser browser;
+    static {
+        logger.info("Execution profile '{}': browser={}, headless={}, slowMo={}, viewport={}x{}, trace={}, launch args={}",
+                config.profile(), BROWSER_TYPE, HEADLESS, config.slowMo(), config.viewportWidth(), config.viewportHeight(),
+                TRACE_POLICY.key(), LAUNCH_ARGS);
+        if (config.stepOverheadProbe()) {
+            StepOverheadProbe.reportOnce();
+        }
+    }
+    
+    // Playwright instances, confined to the thread running the current test
+    protected Playwright playwright;
+    protected Browser browser;
+    private PlaywrightRuntime runtime;
     protected BrowserContext context;
     protected Page page;
+    private ContextPool.PooledContext pooledContext;
+    private TraceRecorder traceRecorder;
+    private ResourceBlocker resourceBlocker;
+    private CDPSession networkEmulation;
+    
+    // Set by TestOutcomeExtension; the outcome stays null when setup failed before the test ran
+    private boolean retry;
+    private Boolean testFailed;
+    private long testStart;
     
     // Page objects
     protected HomePage homePage;
@@ -37,54 +90,66 @@ public abstract class BaseTest {
     protected CartPage cartPage;
     protected CheckoutPage checkoutPage;
     
-    @BeforeAll
-    static void setupPlaywright() {
-        logger.info("Setting up Playwright...");
-        playwright = Playwright.create();
-        
-        BrowserType.LaunchOptions launchOptions = new BrowserType.LaunchOptions()
-                .setHeadless(HEADLESS)
-                .setSlowMo(50); // Add slight delay for visibility
-        
-        switch (BROWSER_TYPE.toLowerCase()) {
-            case "firefox":
-                browser = playwright.firefox().launch(launchOptions);
-                break;
-            case "webkit":
-                browser = playwright.webkit().launch(launchOptions);
-                break;
-            case "chromium":
-            default:
-                browser = playwright.chromium().launch(launchOptions);
-                break;
-        }
-        
-        logger.info("Browser {} launched successfully", BROWSER_TYPE);
-    }
-    
     @BeforeEach
-    void setupTest() {
+    void setupTest(TestInfo testInfo) {
         logger.info("Setting up test...");
+        String suiteName = testInfo.getTestClass().map(Class::getSimpleName).orElse("test");
+        String testName = suiteName + "." + testInfo.getDisplayName();
+        String correlationId = InteractionRecorder.beginTest(testName);
+        logger.info("Interaction events for this test are tagged '{}'", correlationId);
+        
+        // Lease this worker thread's browser from the shared pool
+        runtime = PlaywrightRuntime.acquire(new BrowserSpec(BROWSER_TYPE, HEADLESS, config.slowMo(), LAUNCH_ARGS));
+        playwright = runtime.playwright();
+        browser = runtime.browser();
         
-        // Create new browser context for each test
-        Browser.NewContextOptions contextOptions = new Browser.NewContextOptions()
-                .setViewportSize(1920, 1080)
-                .setLocale("en-US")
-                .setTimezoneId("America/New_York");
+        // Session of the role the test starts as; logs in only when the cache has no valid one
+        UserRole role = authenticatedRole(testInfo);
+        Path authState = role == null ? null : AuthStateCache.obtain(browser, role, BaseTest::contextOptions, BaseTest::uiLogin);
         
-        context = browser.newContext(contextOptions);
+        // HAR recordings are written when the context closes, so HAR modes always use a new context
+        boolean pooled = CONTEXT_POOL && HarReplay.mode() == HarReplay.Mode.OFF;
+        long setupStart = System.nanoTime();
+        if (pooled) {
+            // Take a warm, already reset context from the pool
+            pooledContext = ContextPool.forBrowser(browser, BaseTest::contextOptions).acquire();
+            context = pooledContext.context();
+            page = pooledContext.page();
+            if (authState != null) {
+                AuthStateCache.seed(context, page, authState);
+            }
+        } else {
+            // Create new browser context for each test
+            context = browser.newContext(authState == null ? contextOptions() : contextOptions().setStorageStatePath(authState));
+            HarReplay.attach(context, suiteName, testInfo.getTestMethod().map(Method::getName).orElse(testInfo.getDisplayName()));
+            page = context.newPage();
+        }
+        if (role != null) {
+            logger.info("Context starts authenticated as {}", role.key());
+        }
+        page.setDefaultTimeout(config.defaultTimeout());
+        page.setDefaultNavigationTimeout(config.navigationTimeout());
+        if (NETWORK_PROFILE != null) {
+            networkEmulation = NETWORK_PROFILE.apply(context, page, BROWSER_TYPE);
+        }
         
-        // Enable tracing for debugging
-        context.tracing().start(new Tracing.StartOptions()
-                .setScreenshots(true)
-                .setSnapshots(true)
-                .setSources(true));
+        // Skip images, fonts and third-party requests the test does not need, per its tags
+        resourceBlocker = ResourceBlocker.create(suiteName,
+                ResourcePolicy.forTags(testInfo.getTags(), ResourcePolicy.fromKey(config.resourcesPolicy())));
+        if (resourceBlocker != null) {
+            route("**/*", resourceBlocker);
+        }
+        long setupNanos = System.nanoTime() - setupStart;
+        LatencyStats.named("test setup (" + (pooled ? "pooled context" : "new context") + ")").record(setupNanos);
+        logger.info("Context and page ready in {}ms", setupNanos / 1_000_000);
         
-        page = context.newPage();
+        // Trace according to the configured policy; traces are only written for failures
+        traceRecorder = TraceRecorder.start(TRACE_POLICY, context, testName, TRACE_DIR, retry);
         
         // Initialize page objects
         initializePageObjects();
         
+        testStart = System.nanoTime();
         logger.info("Test setup completed");
     }
     
@@ -92,44 +157,123 @@ public abstract class BaseTest {
     void teardownTest(TestInfo testInfo) {
         logger.info("Tearing down test: {}", testInfo.getDisplayName());
         
+        boolean failed = testFailed == null || testFailed;
+        if (testFailed != null) {
+            LatencyStats.named("test body (trace " + TRACE_POLICY.key() + ")").record(System.nanoTime() - testStart);
+        }
+        
+        boolean teardownClean = false;
         try {
-            // Save trace if test failed
-            if (testInfo.getTags().contains("failed")) {
-                String tracePath = "test-results/" + testInfo.getDisplayName() + "_trace.zip";
-                context.tracing().stop(new Tracing.StopOptions().setPath(Paths.get(tracePath)));
-                logger.info("Trace saved to: {}", tracePath);
-            } else {
-                context.tracing().stop();
+            if (resourceBlocker != null) {
+                resourceBlocker.finish();
             }
             
-            // Take screenshot on failure
-            if (testInfo.getTags().contains("failed")) {
+            // Take screenshot on failure, before the trace is closed
+            if (failed && page != null && config.screenshotOnFailure()) {
                 takeScreenshot(testInfo.getDisplayName() + "_failure");
             }
             
+            // Keep the trace only if the test failed
+            if (traceRecorder != null) {
+                traceRecorder.finish(failed);
+                if (traceRecorder.isActive()) {
+                    logger.info("Tracing overhead ({}): {}ms", TRACE_POLICY.key(), traceRecorder.getOverheadMillis());
+                }
+            }
+            teardownClean = true;
+            
         } catch (Exception e) {
             logger.warn("Error during test teardown: {}", e.getMessage());
         } finally {
-            // Close context
-            if (context != null) {
+            if (networkEmulation != null) {
+                // A pooled page would otherwise collect one DevTools session per test
+                try {
+                    networkEmulation.detach();
+                } catch (PlaywrightException e) {
+                    logger.debug("Network emulation session already gone: {}", e.getMessage());
+                }
+                networkEmulation = null;
+            }
+            if (pooledContext != null) {
+                // Wipe the context and hand it back to the pool, or drop it if teardown went wrong
+                ContextPool.forBrowser(browser, BaseTest::contextOptions).release(pooledContext, teardownClean);
+                pooledContext = null;
+            } else if (context != null) {
+                // Close context
                 context.close();
             }
+            
+            traceRecorder = null;
+            resourceBlocker = null;
+            testFailed = null;
+            InteractionRecorder.endTest();
+            
+            // Return the browser to the pool for the next test on this thread
+            if (runtime != null) {
+                runtime.close();
+                runtime = null;
+            }
         }
     }
     
-    @AfterAll
-    static void teardownPlaywright() {
-        logger.info("Tearing down Playwright...");
-        
-        if (browser != null) {
-            browser.close();
+    /**
+     * Called by TestOutcomeExtension before setup
+     */
+    void testStarting(boolean retry) {
+        this.retry = retry;
+    }
+    
+    /**
+     * Called by TestOutcomeExtension after the test body ran, before teardown
+     */
+    void testExecuted(boolean failed) {
+        this.testFailed = failed;
+    }
+    
+    /**
+     * Route requests of the test's context; on a pooled context the route is removed before reuse
+     */
+    protected void route(String url, Consumer<Route> handler) {
+        if (pooledContext != null) {
+            pooledContext.route(url, handler);
+        } else {
+            context.route(url, handler);
         }
-        
-        if (playwright != null) {
-            playwright.close();
+    }
+    
+    /**
+     * Mark a step boundary in a long test. With the chunked trace mode the previous chunk
+     * passed and is dropped, so a failure only keeps the trace of the step that failed.
+     */
+    protected void traceCheckpoint(String stepName) {
+        if (traceRecorder != null) {
+            traceRecorder.checkpoint(stepName);
         }
-        
-        logger.info("Playwright teardown completed");
+    }
+    
+    /**
+     * Options used for every browser context, pooled or not, taken from the execution profile
+     */
+    private static Browser.NewContextOptions contextOptions() {
+        return new Browser.NewContextOptions()
+                .setViewportSize(config.viewportWidth(), config.viewportHeight())
+                .setLocale(config.locale())
+                .setTimezoneId(config.timezone());
+    }
+    
+    private static UserRole authenticatedRole(TestInfo testInfo) {
+        return testInfo.getTestMethod()
+                .map(method -> method.getAnnotation(AuthenticatedAs.class))
+                .or(() -> testInfo.getTestClass().map(testClass -> testClass.getAnnotation(AuthenticatedAs.class)))
+                .map(AuthenticatedAs::value)
+                .orElse(null);
+    }
+    
+    // Login used by the storage state cache when auth.state.source=ui
+    private static void uiLogin(Page loginPage, UserRole role) {
+        LoginPage form = new LoginPage(loginPage).navigate();
+        form.loginAs(role);
+        form.waitForLoginToComplete();
     }
     
     /**
@@ -184,13 +328,37 @@ public abstract class BaseTest {
         return checkoutPage.navigate();
     }
     
+    /**
+     * Start an API cart fixture for the current context; log in first so the cart belongs to that user
+     */
+    protected CartFixture cartFixture() {
+        return CartFixture.forContext(context);
+    }
+    
+    /**
+     * Seed the cart through the API in one request and open the cart page already populated
+     */
+    @Step("Open cart seeded through the API")
+    protected CartPage openSeededCart(CartFixture fixture) {
+        fixture.seed();
+        return navigateToCart();
+    }
+    
+    /**
+     * Seed cart, promo code and shipping details through the API in one request and open checkout
+     */
+    @Step("Open checkout seeded through the API")
+    protected CheckoutPage openSeededCheckout(CartFixture fixture) {
+        fixture.seed();
+        return navigateToCheckout();
+    }
+    
     /**
      * Perform login with admin credentials
      */
     @Step("Login as admin")
     protected void loginAsAdmin() {
-        navigateToLogin().loginAsAdmin();
-        logger.info("Logged in as admin user");
+        loginAs(UserRole.ADMIN);
     }
     
     /**
@@ -198,8 +366,19 @@ public abstract class BaseTest {
      */
     @Step("Login as test user")
     protected void loginAsTestUser() {
-        navigateToLogin().loginAsTestUser();
-        logger.info("Logged in as test user");
+        loginAs(UserRole.TEST_USER);
+    }
+    
+    /**
+     * Log the current context in with the role's cached session and open the home page.
+     * Tests of the login form itself should use {@link LoginPage} directly.
+     */
+    @Step("Login as {role}")
+    protected void loginAs(UserRole role) {
+        Path authState = AuthStateCache.obtain(browser, role, BaseTest::contextOptions, BaseTest::uiLogin);
+        AuthStateCache.seed(context, page, authState);
+        navigateToHome();
+        logger.info("Logged in as {} from cached session", role.key());
     }
     
     /**
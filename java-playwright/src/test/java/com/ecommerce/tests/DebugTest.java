@@ -5,6 +5,10 @@ import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
 /**
  * Debug test to inspect the actual HTML structure of the application
  */
@@ -12,6 +16,19 @@ public class DebugTest {
 
     private static final Logger logger = LoggerFactory.getLogger(DebugTest.class);
 
+    private static final String[] HEADER_CANDIDATES = {
+            "header", ".header", "#header", "nav", ".nav", ".navbar", "[data-testid='header']"};
+    private static final String[] HERO_CANDIDATES = {
+            ".hero", ".hero-section", "#hero", "[data-testid='hero-section']"};
+
+    // Count and first text (first 100 chars) of every candidate selector
+    private static final String INVENTORY_SCRIPT =
+            "selectors => selectors.map(s => {" +
+            "  const all = document.querySelectorAll(s);" +
+            "  const text = all.length ? (all[0].textContent || '').trim().substring(0, 100) : '';" +
+            "  return (all.length ? '\u2713 ' : '\u2717 ') + s + ' (' + all.length + ')' + (text ? ': ' + text : '');" +
+            "})";
+
     @Test
     public void inspectPageStructure() {
         try (Playwright playwright = Playwright.create()) {
@@ -36,20 +53,13 @@ public class DebugTest {
             String html = page.content();
             logger.info("Page HTML structure (first 2000 chars): {}", html.substring(0, Math.min(2000, html.length())));
 
-            // Check for common header elements
-            checkElement(page, "header");
-            checkElement(page, ".header");
-            checkElement(page, "#header");
-            checkElement(page, "nav");
-            checkElement(page, ".nav");
-            checkElement(page, ".navbar");
-            checkElement(page, "[data-testid='header']");
-
-            // Check for hero section elements
-            checkElement(page, ".hero");
-            checkElement(page, ".hero-section");
-            checkElement(page, "#hero");
-            checkElement(page, "[data-testid='hero-section']");
+            // Probe every header and hero candidate in a single evaluation, without waiting
+            List<String> candidates = new ArrayList<>(Arrays.asList(HEADER_CANDIDATES));
+            candidates.addAll(Arrays.asList(HERO_CANDIDATES));
+            List<?> found = (List<?>) page.evaluate(INVENTORY_SCRIPT, candidates);
+            for (Object entry : found) {
+                logger.info("{}", entry);
+            }
 
             // Take a screenshot
             page.screenshot(new Page.ScreenshotOptions().setPath(java.nio.file.Paths.get("debug-screenshot.png")));
@@ -62,21 +72,4 @@ public class DebugTest {
             browser.close();
         }
     }
-
-    private void checkElement(Page page, String selector) {
-        try {
-            if (page.locator(selector).count() > 0) {
-                logger.info("✓ Found element: {}", selector);
-                // Get the element's text content (first 100 chars)
-                String text = page.locator(selector).first().textContent();
-                if (text != null && !text.trim().isEmpty()) {
-                    logger.info("  Text content: {}", text.substring(0, Math.min(100, text.length())));
-                }
-            } else {
-                logger.info("✗ Element not found: {}", selector);
-            }
-        } catch (Exception e) {
-            logger.info("✗ Error checking element {}: {}", selector, e.getMessage());
-        }
-    }
 }
@@ -0,0 +1,47 @@
+package com.ecommerce.tests;
+
+import com.ecommerce.config.TestConfig;
+import com.ecommerce.utils.FixtureServer;
+import org.aeonbits.owner.ConfigFactory;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestPlan;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+
+/**
+ * Starts the embedded {@link FixtureServer} before any test class is initialized when
+ * {@code fixture.server} is on (the {@code fixture} profile), and points {@code base.url} and
+ * {@code api.url} at it. Registered through {@code META-INF/services}, so every fork gets its own server.
+ */
+public class FixtureServerListener implements TestExecutionListener {
+
+    private FixtureServer server;
+
+    @Override
+    public void testPlanExecutionStarted(TestPlan testPlan) {
+        TestConfig config = ConfigFactory.create(TestConfig.class);
+        if (!config.fixtureServer()) {
+            return;
+        }
+        server = FixtureServer.start();
+        // System properties win over the profile and test.properties for every config created from here on
+        System.setProperty("base.url", server.baseUrl());
+        System.setProperty("api.url", server.apiUrl());
+        // Sessions stored by an earlier run belong to a server that no longer exists
+        try {
+            System.setProperty("auth.state.dir", Files.createTempDirectory("fixture-auth-").toString());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to create auth state directory for the fixture server", e);
+        }
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        if (server != null) {
+            server.stop();
+            server = null;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package com.ecommerce.tests;
 
 import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
 import io.qameta.allure.*;
 import static org.junit.jupiter.api.Assertions.*;
 import com.ecommerce.pages.*;
@@ -12,6 +14,7 @@ import com.ecommerce.pages.*;
 @Epic("User Interface")
 @Feature("Home Page")
 @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+@Execution(ExecutionMode.SAME_THREAD) // Ordered tests run one after another even in parallel runs
 public class HomePageTests extends BaseTest {
     
     @BeforeEach
@@ -10,6 +10,7 @@ import static org.junit.jupiter.api.Assertions.*;
  */
 @Epic("Authentication")
 @Feature("Login")
+@Tag("non-visual")
 public class LoginTests extends BaseTest {
     
     @BeforeEach
@@ -0,0 +1,59 @@
+package com.ecommerce.tests;
+
+import com.ecommerce.config.UserRole;
+import com.ecommerce.pages.CartPage;
+import com.ecommerce.utils.AuthStateCache;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import io.qameta.allure.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Test class for cart fixtures on pooled contexts.
+ * A pooled context gets its session seeded at setup, but its local storage only holds the token
+ * after the first navigation; the fixture must still seed the cart of the logged-in user.
+ *
+ * Runs with {@code -Dcontext.pool=true -Dtest.profile=fixture}.
+ */
+@Epic("Shopping")
+@Feature("Cart Fixture")
+@Tag("non-visual")
+@EnabledIfSystemProperty(named = "context.pool", matches = "true")
+@AuthenticatedAs(UserRole.TEST_USER)
+public class PooledCartFixtureTests extends BaseTest {
+    
+    @Test
+    @DisplayName("Seeded session token is available before the first navigation")
+    @Description("Verify that the token seeded into a pooled context is reported before its local storage holds it")
+    @Severity(SeverityLevel.NORMAL)
+    @Story("Pooled Context Session")
+    void testSessionTokenBeforeNavigation() {
+        // Given: A pooled context seeded with the test user's session, not navigated yet
+        String token = AuthStateCache.sessionToken(context);
+        assertNotNull(token, "Seeded session token should be available before navigation");
+        
+        // When: The page loads and the seed script restores local storage
+        navigateToHome();
+        
+        // Then: Local storage holds the same token
+        assertEquals(token, page.evaluate("key => localStorage.getItem(key)", config.authTokenKey()),
+                "Local storage should hold the seeded token");
+        assertEquals(token, AuthStateCache.sessionToken(context), "Token should now come from local storage");
+    }
+    
+    @Test
+    @DisplayName("Cart seeded before the first navigation belongs to the logged-in user")
+    @Description("Verify that the cart fixture sends the seeded token when only the token identifies the user")
+    @Severity(SeverityLevel.CRITICAL)
+    @Story("Pooled Context Session")
+    void testSeedBeforeNavigationUsesSessionToken() {
+        // Given: Only the bearer token can identify the user
+        context.clearCookies();
+        
+        // When: The cart is seeded before the page has navigated
+        CartPage cart = openSeededCart(cartFixture().item("1", 2).item("3", 1));
+        
+        // Then: The cart page, which authenticates with the stored token, shows the seeded items
+        assertEquals(2, cart.getItemCount(), "Cart should contain the seeded items");
+    }
+}
@@ -0,0 +1,102 @@
+package com.ecommerce.tests;
+
+import com.ecommerce.pages.ProductCard;
+import com.ecommerce.utils.LatencyStats;
+import com.ecommerce.utils.Money;
+import com.ecommerce.utils.PriceParser;
+import io.qameta.allure.*;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compares the two ways of validating the product grid: the legacy per-card reads (one count plus
+ * one textContent call per value, each a round trip to the browser) and the single-evaluation
+ * {@code getProductGrid()} snapshot. Both paths run on the same page; the round trips each one
+ * issued and their wall-clock times are logged and recorded in the latency report.
+ *
+ * Only runs under the perf-measure profile: {@code mvn test -Dtest.profile=perf-measure -Dtest=ProductGridReadTests}
+ */
+@Epic("Performance")
+@Feature("Product Grid")
+@Tag("perf")
+@EnabledIfSystemProperty(named = "test.profile", matches = "perf-measure")
+public class ProductGridReadTests extends BaseTest {
+
+    // Round trips issued by the legacy path in the current test
+    private int roundTrips;
+
+    @BeforeEach
+    void setupProductGridReadTests() {
+        navigateToProducts();
+    }
+
+    @Test
+    @DisplayName("Search validation: per-card reads vs grid snapshot")
+    @Story("Search Validation")
+    void compareSearchValidation() {
+        long legacyStart = System.nanoTime();
+        int count = call(productsPage::getProductCount);
+        List<String> legacyNames = new ArrayList<>();
+        for (int i = 0; i < Math.min(count, 5); i++) {  // the legacy check looked at the first 5 products
+            int index = i;
+            legacyNames.add(call(() -> productsPage.getProductName(index)));
+        }
+        long legacyNanos = System.nanoTime() - legacyStart;
+
+        long snapshotStart = System.nanoTime();
+        List<ProductCard> cards = productsPage.getProductGrid();
+        long snapshotNanos = System.nanoTime() - snapshotStart;
+
+        report("search validation", legacyNanos, snapshotNanos);
+        assertEquals(count, cards.size(), "Both paths should see the same number of cards");
+        for (int i = 0; i < legacyNames.size(); i++) {
+            assertEquals(legacyNames.get(i), cards.get(i).getName(), "Card " + i + " name");
+        }
+    }
+
+    @Test
+    @DisplayName("Sort validation: per-card reads vs grid snapshot")
+    @Story("Sort Validation")
+    void compareSortValidation() {
+        long legacyStart = System.nanoTime();
+        int count = call(productsPage::getProductCount);
+        List<Money> legacyPrices = new ArrayList<>();
+        for (int i = 0; i < count - 1; i++) {  // the legacy check read both prices of every adjacent pair
+            int index = i;
+            Money current = PriceParser.parse(call(() -> productsPage.getProductPrice(index)));
+            call(() -> productsPage.getProductPrice(index + 1));
+            legacyPrices.add(current);
+        }
+        long legacyNanos = System.nanoTime() - legacyStart;
+
+        long snapshotStart = System.nanoTime();
+        List<ProductCard> cards = productsPage.getProductGrid();
+        long snapshotNanos = System.nanoTime() - snapshotStart;
+
+        report("sort validation", legacyNanos, snapshotNanos);
+        for (int i = 0; i < legacyPrices.size(); i++) {
+            assertTrue(legacyPrices.get(i).isSameAmount(cards.get(i).getPrice()), "Card " + i + " price");
+        }
+    }
+
+    private <T> T call(Supplier<T> browserCall) {
+        roundTrips++;
+        return browserCall.get();
+    }
+
+    private void report(String check, long legacyNanos, long snapshotNanos) {
+        LatencyStats.named(check + " (per-card reads)").record(legacyNanos);
+        LatencyStats.named(check + " (grid snapshot)").record(snapshotNanos);
+        logger.info("{}: per-card reads took {} round trips in {}ms, the grid snapshot 1 round trip in {}ms",
+                check, roundTrips, legacyNanos / 1_000_000, snapshotNanos / 1_000_000);
+        Allure.addAttachment(check + " round trips", "text/plain",
+                "per-card reads: " + roundTrips + " round trips, " + legacyNanos / 1_000_000 + "ms\n"
+                        + "grid snapshot: 1 round trip, " + snapshotNanos / 1_000_000 + "ms\n");
+    }
+}
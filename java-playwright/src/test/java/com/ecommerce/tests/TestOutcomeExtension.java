@@ -0,0 +1,35 @@
+package com.ecommerce.tests;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeEachCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tells {@link BaseTest} whether the current run is a retry and whether the test body failed.
+ * A TestWatcher only fires after {@code @AfterEach}, too late to decide whether to keep a trace,
+ * so the outcome is reported from {@code afterTestExecution}, which runs before teardown.
+ */
+class TestOutcomeExtension implements BeforeEachCallback, AfterTestExecutionCallback {
+
+    // Tests that already failed once in this JVM; surefire reruns them with the same unique id
+    private static final Set<String> FAILED_ONCE = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public void beforeEach(ExtensionContext context) {
+        BaseTest test = (BaseTest) context.getRequiredTestInstance();
+        test.testStarting(FAILED_ONCE.contains(context.getUniqueId()));
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        boolean failed = context.getExecutionException().isPresent();
+        if (failed) {
+            FAILED_ONCE.add(context.getUniqueId());
+        }
+        BaseTest test = (BaseTest) context.getRequiredTestInstance();
+        test.testExecuted(failed);
+    }
+}
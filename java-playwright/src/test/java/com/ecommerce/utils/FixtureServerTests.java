@@ -0,0 +1,122 @@
+package com.ecommerce.utils;
+
+import com.ecommerce.config.UserRole;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link FixtureServer} over plain HTTP; no browser involved.
+ */
+class FixtureServerTests {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final HttpClient CLIENT = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+    private static FixtureServer server;
+
+    @BeforeAll
+    static void startServer() {
+        server = FixtureServer.start();
+    }
+
+    @AfterAll
+    static void stopServer() {
+        server.stop();
+    }
+
+    @Test
+    @DisplayName("Serves the single-page app for extensionless paths and answers HEAD with its size")
+    void servesStaticIndex() throws Exception {
+        HttpResponse<String> index = send(request("/").GET());
+        assertEquals(200, index.statusCode());
+        assertTrue(index.headers().firstValue("content-type").orElse("").startsWith("text/html"));
+        assertTrue(index.body().contains("data-testid"), "index.html should be served");
+        assertEquals(index.body(), send(request("/products").GET()).body(), "client-side routes get the same page");
+
+        HttpResponse<Void> head = CLIENT.send(request("/index.html").method("HEAD", HttpRequest.BodyPublishers.noBody())
+                .build(), HttpResponse.BodyHandlers.discarding());
+        assertEquals(200, head.statusCode());
+        assertEquals(index.body().getBytes(StandardCharsets.UTF_8).length,
+                head.headers().firstValueAsLong("content-length").orElse(-1));
+
+        assertEquals(404, send(request("/missing.png").GET()).statusCode());
+        assertEquals(404, send(request("/../pom.xml").GET()).statusCode());
+    }
+
+    @Test
+    @DisplayName("Login returns one session cookie and a token the API accepts")
+    void logsIn() throws Exception {
+        HttpResponse<String> login = login(UserRole.TEST_USER.getEmail(), UserRole.TEST_USER.getPassword());
+
+        assertEquals(200, login.statusCode());
+        assertEquals(1, login.headers().allValues("set-cookie").size(), () -> "Set-Cookie: " + login.headers().allValues("set-cookie"));
+        String token = MAPPER.readTree(login.body()).path("token").asText();
+        assertTrue(login.headers().firstValue("set-cookie").orElse("").startsWith("session=" + token + ";"));
+
+        JsonNode me = MAPPER.readTree(send(request("/api/auth/me").header("Authorization", "Bearer " + token).GET()).body());
+        assertEquals(UserRole.TEST_USER.getEmail(), me.path("email").asText());
+        assertEquals(401, send(request("/api/auth/me").GET()).statusCode());
+    }
+
+    @Test
+    @DisplayName("Login with a wrong password is rejected without a cookie")
+    void rejectsWrongPassword() throws Exception {
+        HttpResponse<String> login = login(UserRole.ADMIN.getEmail(), "wrong");
+
+        assertEquals(401, login.statusCode());
+        assertTrue(login.headers().allValues("set-cookie").isEmpty());
+    }
+
+    @Test
+    @DisplayName("The cart batch endpoint replaces the logged-in user's cart in one request")
+    void seedsCartInOneRequest() throws Exception {
+        String token = MAPPER.readTree(login(UserRole.ADMIN.getEmail(), UserRole.ADMIN.getPassword()).body())
+                .path("token").asText();
+        String payload = "{\"items\":[{\"productId\":\"6\",\"quantity\":2},{\"productId\":\"8\",\"quantity\":1}],"
+                + "\"promoCode\":\"SAVE10\",\"shipping\":{\"city\":\"Springfield\"}}";
+
+        HttpResponse<String> seeded = send(request("/api/cart/batch").header("Authorization", "Bearer " + token)
+                .header("Content-Type", "application/json").POST(HttpRequest.BodyPublishers.ofString(payload)));
+
+        assertEquals(200, seeded.statusCode(), seeded::body);
+        JsonNode cart = MAPPER.readTree(send(request("/api/cart").header("Authorization", "Bearer " + token).GET()).body());
+        assertEquals(3, cart.path("itemCount").asInt());
+        assertEquals(84.97, cart.path("subtotal").asDouble(), 0.001);
+        assertEquals(8.50, cart.path("discount").asDouble(), 0.001);
+        assertEquals("SAVE10", cart.path("promoCode").asText());
+        assertEquals("Springfield", cart.path("shippingDetails").path("city").asText());
+
+        HttpResponse<String> unknown = send(request("/api/cart/batch").header("Authorization", "Bearer " + token)
+                .POST(HttpRequest.BodyPublishers.ofString("{\"items\":[{\"productId\":\"999\"}]}")));
+        assertEquals(404, unknown.statusCode());
+    }
+
+    private static HttpResponse<String> login(String email, String password) throws IOException, InterruptedException {
+        String body = MAPPER.writeValueAsString(Map.of("email", email, "password", password));
+        return send(request("/api/auth/login").header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)));
+    }
+
+    private static HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(server.baseUrl() + path)).timeout(Duration.ofSeconds(10));
+    }
+
+    private static HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        return CLIENT.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,39 @@
+package com.ecommerce.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link Money}; no browser involved.
+ */
+class MoneyTests {
+
+    @Test
+    @DisplayName("Amounts are rounded to cents and compared by value")
+    void roundsAndComparesByValue() {
+        assertEquals(Money.of(10.5), Money.of(new BigDecimal("10.50")));
+        assertEquals(new BigDecimal("0.13"), Money.of(0.125).getAmount());
+        assertTrue(Money.of(19.99).isSameAmount(Money.parse("$19.99")));
+        assertNotEquals(Money.of(19.99), Money.parse("$19.99"), "currency is part of equality");
+    }
+
+    @Test
+    @DisplayName("Arithmetic keeps the currency")
+    void addsAndMultiplies() {
+        Money price = Money.parse("$19.99");
+        assertEquals(Money.of(new BigDecimal("59.97"), "USD"), price.times(3));
+        assertEquals(Money.of(new BigDecimal("24.99"), "USD"), price.plus(Money.of(5)));
+        assertEquals(Money.of(new BigDecimal("19.99"), "USD"), Money.ZERO.plus(price));
+        assertTrue(Money.ZERO.isZero());
+    }
+
+    @Test
+    @DisplayName("Adding different currencies fails")
+    void rejectsMixedCurrencies() {
+        assertThrows(IllegalArgumentException.class, () -> Money.parse("$5").plus(Money.parse("5 €")));
+    }
+}
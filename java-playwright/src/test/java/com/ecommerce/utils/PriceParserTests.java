@@ -0,0 +1,75 @@
+package com.ecommerce.utils;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for {@link PriceParser}; no browser involved.
+ */
+class PriceParserTests {
+
+    @ParameterizedTest(name = "\"{0}\" -> {1}")
+    @DisplayName("First number in the text")
+    @CsvSource(delimiter = '|', value = {
+            "4.5                | 4.5",
+            "Rating: 4.5 / 5    | 4.5",
+            "Rating (4.5)       | 4.5",
+            "★★★★☆ (4.5)        | 4.5",
+            "Qty: 3             | 3",
+            "SKU-123            | 123",
+            "$0.125             | 0.125",
+            "$10 2              | 10",
+            "1.5.2              | 1.5",
+            "12345.678          | 12345.678",
+            "-7                 | -7"
+    })
+    void parsesFirstNumber(String text, BigDecimal expected) {
+        assertEquals(0, expected.compareTo(PriceParser.parseAmount(text)), () -> "parseAmount(\"" + text + "\")");
+    }
+
+    @ParameterizedTest(name = "\"{0}\" -> {1}")
+    @DisplayName("Displayed prices in common formats")
+    @CsvSource(delimiter = '|', value = {
+            "$19.99             | 19.99",
+            "$1,299.99          | 1299.99",
+            "1.299,99 €         | 1299.99",
+            "CHF 1'299.99       | 1299.99",
+            "1 299,99 €         | 1299.99",
+            "Subtotal - $19.99  | 19.99",
+            "Subtotal: $19.99   | 19.99",
+            "-$5.00             | -5.00",
+            "−$5.00             | -5.00",
+            "($5.00)            | -5.00",
+            "(5.00 EUR)         | -5.00",
+            "Discount -$2.50    | -2.50",
+            "$0.125             | 0.13"
+    })
+    void parsesPrices(String text, BigDecimal expected) {
+        assertTrue(Money.of(expected).isSameAmount(PriceParser.parse(text)), () -> "parse(\"" + text + "\")");
+    }
+
+    @Test
+    @DisplayName("Currency is taken from the symbol or ISO code")
+    void detectsCurrency() {
+        assertEquals("USD", PriceParser.parse("$5").getCurrency());
+        assertEquals("EUR", PriceParser.parse("1.299,99 €").getCurrency());
+        assertEquals("CHF", PriceParser.parse("CHF 1'299.99").getCurrency());
+        assertNull(PriceParser.parse("5.00").getCurrency());
+    }
+
+    @Test
+    @DisplayName("Text without an amount")
+    void handlesMissingAmount() {
+        assertNull(PriceParser.parseAmount("No rating yet"));
+        assertTrue(PriceParser.parse("Free").isZero());
+        assertThrows(IllegalArgumentException.class, () -> PriceParser.parse("Call for price"));
+        assertNull(PriceParser.parseOrDefault("Call for price", null));
+        assertNull(PriceParser.parseOrDefault(null, null));
+    }
+}